@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Event ingestion benchmark: one POST /public/events per event vs POST /public/events/batch.
+#
+# Needs `hey` (https://github.com/rakyll/hey) and a running backend. Pin the server to one core
+# (e.g. `taskset -c 0 java -jar target/foodlink-*.jar`) so the results read as events/sec per core:
+#   ./benchmarks/event_ingest_benchmark.sh http://localhost:8080/api/v1
+#
+# Single: events/sec = "Requests/sec". Batched: events/sec = "Requests/sec" x BATCH_SIZE.
+# Watch foodlink.analytics.ingest.dropped on /actuator/metrics; drops mean the buffer, not the
+# endpoint, was the limit.
+
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080/api/v1}"
+REQUESTS="${REQUESTS:-200000}"
+CONCURRENCY="${CONCURRENCY:-64}"
+BATCH_SIZE="${BATCH_SIZE:-50}"
+SESSION_ID="550e8400-e29b-41d4-a716-446655440000"
+
+single='{"eventType":"RECOMMENDATION_VIEW","recommendationId":1,"creatorSlug":"delhifoodie","sessionId":"'"$SESSION_ID"'"}'
+
+rows=$(printf '["rv",1,null],%.0s' $(seq 1 "$BATCH_SIZE"))
+compact='{"s":"delhifoodie","i":"'"$SESSION_ID"'","e":['"${rows%,}"']}'
+
+echo "== single events: $REQUESTS requests"
+hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T application/json -d "$single" "$BASE_URL/public/events"
+
+echo "== compact batches of $BATCH_SIZE (text/plain, as sent by sendBeacon): $((REQUESTS / BATCH_SIZE)) requests"
+hey -n "$((REQUESTS / BATCH_SIZE))" -c "$CONCURRENCY" -m POST -T "text/plain;charset=UTF-8" -d "$compact" \
+    "$BASE_URL/public/events/batch"
@@ -0,0 +1,56 @@
+-- Trigram search benchmark: LIKE '%q%' vs pg_trgm word similarity on 1M recommendations.
+--
+-- Run against a scratch database that has been migrated by Flyway (V1..V3):
+--   psql -h localhost -U postgres -d foodlink_bench -f benchmarks/trigram_search_benchmark.sql
+--
+-- The seed uses a single creator so both queries see the worst case the issue describes
+-- (one very large creator page). Compare the "Execution Time" lines of each EXPLAIN.
+
+\timing on
+
+INSERT INTO creators (username, email, password_hash, display_name, slug)
+VALUES ('benchcreator', 'bench@example.com', 'x', 'Bench Creator', 'bench-creator')
+ON CONFLICT (slug) DO NOTHING;
+
+INSERT INTO recommendations (creator_id, dish_name, restaurant_name, area, status, published_at)
+SELECT c.id,
+       (ARRAY['Chole Bhature', 'Hyderabadi Biryani', 'Chicken Momos', 'Butter Chicken', 'Masala Dosa',
+              'Rajma Chawal', 'Paneer Tikka', 'Aloo Paratha', 'Seekh Kebab', 'Gulab Jamun'])[1 + (g % 10)]
+           || ' ' || g,
+       (ARRAY['Sita Ram Diwan Chand', 'Al Kauser', 'Dolma Aunty', 'Moti Mahal', 'Saravana Bhavan',
+              'Karim''s', 'Haldiram''s', 'Kake Di Hatti', 'Bengali Sweet House', 'Big Chill'])[1 + (g % 7)]
+           || ' ' || (g % 5000),
+       (ARRAY['Paharganj', 'Chanakyapuri', 'Lajpat Nagar', 'Daryaganj', 'Connaught Place'])[1 + (g % 5)],
+       'PUBLISHED',
+       NOW() - (g || ' minutes')::interval
+FROM generate_series(1, 1000000) AS g
+CROSS JOIN (SELECT id FROM creators WHERE slug = 'bench-creator') c;
+
+-- VACUUM sets hint bits too, so the first EXPLAIN does not pay for them
+VACUUM ANALYZE recommendations;
+
+-- Baseline: the LIKE search from RecommendationRepository.searchByCreatorSlugAndQuery
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.* FROM recommendations r JOIN creators c ON c.id = r.creator_id
+WHERE c.slug = 'bench-creator' AND r.status = 'PUBLISHED'
+  AND (LOWER(r.dish_name) LIKE '%chhole bhatura%'
+    OR LOWER(r.restaurant_name) LIKE '%chhole bhatura%'
+    OR LOWER(r.area) LIKE '%chhole bhatura%')
+LIMIT 20;
+
+-- Trigram: RecommendationRepository.searchBySimilarity at the default threshold
+BEGIN;
+SELECT set_config('pg_trgm.word_similarity_threshold', '0.4', true);
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.* FROM recommendations r JOIN creators c ON c.id = r.creator_id
+WHERE c.slug = 'bench-creator' AND r.status = 'PUBLISHED'
+  AND ('chhole bhatura' <% r.dish_name OR 'chhole bhatura' <% r.restaurant_name)
+ORDER BY GREATEST(word_similarity('chhole bhatura', r.dish_name),
+                  word_similarity('chhole bhatura', r.restaurant_name)) DESC,
+         r.view_count DESC
+LIMIT 20;
+COMMIT;
+
+-- Clean up the seeded rows
+DELETE FROM recommendations WHERE creator_id = (SELECT id FROM creators WHERE slug = 'bench-creator');
+DELETE FROM creators WHERE slug = 'bench-creator';
@@ -0,0 +1,76 @@
+package com.foodlink.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Bounded ring buffer between POST /public/events and AnalyticsEventWriter. When it is full the
+// overflow policy decides whether the request thread drops the event or waits briefly for room.
+@Component
+public class AnalyticsEventBuffer {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private final BlockingQueue<IngestedEvent> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final Counter accepted;
+    private final Counter dropped;
+
+    public AnalyticsEventBuffer(@Value("${app.analytics.ingest.capacity:65536}") int capacity,
+                                @Value("${app.analytics.ingest.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                                @Value("${app.analytics.ingest.block-timeout-ms:50}") long blockTimeoutMs,
+                                MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.accepted = meterRegistry.counter("foodlink.analytics.ingest.accepted");
+        this.dropped = meterRegistry.counter("foodlink.analytics.ingest.dropped");
+        Gauge.builder("foodlink.analytics.ingest.queue.depth", queue, Collection::size).register(meterRegistry);
+        Gauge.builder("foodlink.analytics.ingest.queue.capacity", () -> capacity).register(meterRegistry);
+    }
+
+    public boolean offer(IngestedEvent event) {
+        boolean added;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                added = queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                added = false;
+            }
+        } else {
+            added = queue.offer(event);
+        }
+        (added ? accepted : dropped).increment();
+        return added;
+    }
+
+    // Waits up to timeoutMs for the first event, then takes whatever else is ready up to maxEvents
+    int drainTo(List<IngestedEvent> batch, int maxEvents, long timeoutMs) throws InterruptedException {
+        IngestedEvent first = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        batch.add(first);
+        return 1 + queue.drainTo(batch, maxEvents - 1);
+    }
+
+    int drainAll(List<IngestedEvent> batch) {
+        return queue.drainTo(batch);
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+}
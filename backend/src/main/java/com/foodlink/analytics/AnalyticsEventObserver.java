@@ -0,0 +1,10 @@
+package com.foodlink.analytics;
+
+import java.util.List;
+
+// Receives every batch after it has been written, with creator ids already resolved.
+// Called on the thread writing analytics (writer or spool replayer), so implementations must not block.
+public interface AnalyticsEventObserver {
+
+    void onEvents(List<IngestedEvent> events);
+}
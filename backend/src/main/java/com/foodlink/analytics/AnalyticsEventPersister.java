@@ -0,0 +1,148 @@
+package com.foodlink.analytics;
+
+import com.foodlink.cache.CreatorCache;
+import com.foodlink.domain.repository.CreatorRepository;
+import com.foodlink.domain.repository.RecommendationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Writes a batch of events with one slug lookup, one recommendation id check and one JDBC
+// batch insert, then hands the written events to every AnalyticsEventObserver. Recommendation
+// ids come from the client, so ids that do not exist or belong to another creator are cleared.
+// AnalyticsEvent uses IDENTITY ids, which stops Hibernate from batching, so this bypasses JPA
+// for the insert.
+@Slf4j
+@Component
+public class AnalyticsEventPersister {
+
+    private static final String INSERT_SQL = "INSERT INTO analytics_events " +
+            "(creator_id, recommendation_id, event_type, search_query, user_agent, ip_address, referrer, session_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CreatorRepository creatorRepository;
+    private final RecommendationRepository recommendationRepository;
+    private final CreatorCache creatorCache;
+    private final List<AnalyticsEventObserver> observers;
+    private final Counter written;
+    private final Timer batchTimer;
+
+    public AnalyticsEventPersister(JdbcTemplate jdbcTemplate, CreatorRepository creatorRepository, RecommendationRepository recommendationRepository, CreatorCache creatorCache, List<AnalyticsEventObserver> observers, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.creatorRepository = creatorRepository;
+        this.recommendationRepository = recommendationRepository;
+        this.creatorCache = creatorCache;
+        this.observers = observers;
+        this.written = meterRegistry.counter("foodlink.analytics.ingest.written");
+        this.batchTimer = meterRegistry.timer("foodlink.analytics.ingest.batch");
+    }
+
+    public List<IngestedEvent> persist(List<IngestedEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        List<IngestedEvent> resolved = resolveRecommendations(resolveCreators(events));
+        batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, resolved, resolved.size(), (ps, event) -> {
+            setLong(ps, 1, event.getCreatorId());
+            setLong(ps, 2, event.getRecommendationId());
+            ps.setString(3, event.getEventType().name());
+            ps.setString(4, event.getSearchQuery());
+            ps.setString(5, event.getUserAgent());
+            ps.setString(6, event.getIpAddress());
+            ps.setString(7, event.getReferrer());
+            ps.setObject(8, event.getSessionId(), Types.OTHER);
+            ps.setTimestamp(9, Timestamp.valueOf(event.getCreatedAt()));
+        }));
+        written.increment(resolved.size());
+        publish(resolved);
+        return resolved;
+    }
+
+    private void publish(List<IngestedEvent> events) {
+        for (AnalyticsEventObserver observer : observers) {
+            try {
+                observer.onEvents(events);
+            } catch (Exception e) {
+                log.warn("Analytics observer {} failed: {}", observer.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private List<IngestedEvent> resolveCreators(List<IngestedEvent> events) {
+        Set<String> slugs = new HashSet<>();
+        for (IngestedEvent event : events) {
+            if (event.getCreatorId() == null && event.getCreatorSlug() != null && !event.getCreatorSlug().isBlank()) {
+                slugs.add(event.getCreatorSlug());
+            }
+        }
+        if (slugs.isEmpty()) {
+            return events;
+        }
+
+        // Hot creators are usually cached; only the remaining slugs go to the database, in one query
+        Map<String, Long> idsBySlug = new HashMap<>(creatorCache.cachedIds(slugs));
+        slugs.removeAll(idsBySlug.keySet());
+        if (!slugs.isEmpty()) {
+            for (Object[] row : creatorRepository.findIdsBySlugIn(slugs)) {
+                idsBySlug.put((String) row[0], (Long) row[1]);
+            }
+        }
+
+        List<IngestedEvent> resolved = new ArrayList<>(events.size());
+        for (IngestedEvent event : events) {
+            resolved.add(event.getCreatorId() == null && event.getCreatorSlug() != null
+                    ? event.withCreatorId(idsBySlug.get(event.getCreatorSlug()))
+                    : event);
+        }
+        return resolved;
+    }
+
+    private List<IngestedEvent> resolveRecommendations(List<IngestedEvent> events) {
+        Set<Long> ids = new HashSet<>();
+        for (IngestedEvent event : events) {
+            if (event.getRecommendationId() != null) {
+                ids.add(event.getRecommendationId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return events;
+        }
+
+        Map<Long, Long> creatorIdsById = new HashMap<>();
+        for (Object[] row : recommendationRepository.findCreatorIdsByIdIn(ids)) {
+            creatorIdsById.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<IngestedEvent> resolved = new ArrayList<>(events.size());
+        for (IngestedEvent event : events) {
+            Long recommendationId = event.getRecommendationId();
+            Long owner = recommendationId != null ? creatorIdsById.get(recommendationId) : null;
+            boolean valid = owner != null && (event.getCreatorId() == null || owner.equals(event.getCreatorId()));
+            resolved.add(recommendationId == null || valid ? event : event.withRecommendationId(null));
+        }
+        return resolved;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
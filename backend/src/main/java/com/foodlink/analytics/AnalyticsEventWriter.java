@@ -0,0 +1,118 @@
+package com.foodlink.analytics;
+
+import com.foodlink.analytics.spool.AnalyticsSpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Single background thread that drains AnalyticsEventBuffer in batches. With the spool enabled
+// batches go to local disk and AnalyticsSpoolReplayer writes them to Postgres; otherwise they
+// are written directly. Its phase is below the web server's (graceful shutdown at MAX-1024,
+// the server itself at MAX-2048), so it stops only after requests have stopped producing
+// events and its final flush sees everything that was buffered.
+@Slf4j
+@Component
+public class AnalyticsEventWriter implements SmartLifecycle {
+
+    private final AnalyticsEventBuffer buffer;
+    private final AnalyticsEventPersister persister;
+    private final AnalyticsSpool spool;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AnalyticsEventWriter(AnalyticsEventBuffer buffer,
+                                AnalyticsEventPersister persister,
+                                ObjectProvider<AnalyticsSpool> spool,
+                                @Value("${app.analytics.ingest.batch-size:500}") int batchSize,
+                                @Value("${app.analytics.ingest.flush-interval-ms:200}") long flushIntervalMs,
+                                MeterRegistry meterRegistry) {
+        this.buffer = buffer;
+        this.persister = persister;
+        this.spool = spool.getIfAvailable();
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.failed = meterRegistry.counter("foodlink.analytics.ingest.failed");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "analytics-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<IngestedEvent> remaining = new ArrayList<>();
+        buffer.drainAll(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private void run() {
+        List<IngestedEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (buffer.drainTo(batch, batchSize, flushIntervalMs) > 0) {
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<IngestedEvent> batch) {
+        if (spool != null) {
+            try {
+                if (spool.append(batch)) {
+                    return;
+                }
+                log.warn("Analytics spool is full, writing {} events directly", batch.size());
+            } catch (Exception e) {
+                log.warn("Failed to spool {} analytics events, writing directly: {}", batch.size(), e.getMessage());
+            }
+        }
+        try {
+            persister.persist(batch);
+        } catch (Exception e) {
+            // Analytics must never take the app down; the count shows up in metrics
+            failed.increment(batch.size());
+            log.warn("Failed to write {} analytics events: {}", batch.size(), e.getMessage());
+        }
+    }
+}
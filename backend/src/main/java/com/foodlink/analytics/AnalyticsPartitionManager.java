@@ -0,0 +1,179 @@
+package com.foodlink.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+// Keeps the monthly partitions of analytics_events in shape: creates the coming months ahead
+// of time and removes months past retention as whole partitions. Runs at startup and daily.
+@Slf4j
+@Component
+public class AnalyticsPartitionManager {
+
+    public enum ExpiredAction {
+        DETACH, DROP
+    }
+
+    static final String PARENT_TABLE = "analytics_events";
+
+    // Partitions detached by the archiver are renamed with this suffix, which monthOf() does not
+    // parse, so maintain() leaves them alone and the archiver can find them again after a crash
+    private static final String ARCHIVING_SUFFIX = "_archiving";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    @Value("${app.analytics.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.analytics.partitions.retention-months:13}")
+    private int retentionMonths;
+
+    @Value("${app.analytics.partitions.expired-action:DROP}")
+    private ExpiredAction expiredAction;
+
+    public AnalyticsPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.analytics.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+            for (String partition : partitions()) {
+                YearMonth month = monthOf(partition);
+                if (month != null && month.isBefore(oldestKept)) {
+                    expire(partition);
+                }
+            }
+        }
+    }
+
+    public List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits " +
+                "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent " +
+                "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                "WHERE parent.relname = ? ORDER BY child.relname", String.class, PARENT_TABLE);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    public static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARENT_TABLE + "_")) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARENT_TABLE.length() + 1), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Identifiers come from partitionName/monthOf only, never from input, so formatting them into DDL is safe
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), PARENT_TABLE, from, to));
+        } catch (Exception e) {
+            // Another node may have created it concurrently; the next run checks again
+            log.warn("Could not create partition for {}: {}", month, e.getMessage());
+        }
+    }
+
+    private void expire(String partition) {
+        try {
+            remove(partition, expiredAction);
+            log.info("Expired analytics partition {} ({})", partition, expiredAction);
+        } catch (Exception e) {
+            log.warn("Could not expire partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    // Detach and rename commit together, so once this returns no insert can reach the rows.
+    // Only names listed by partitions() are accepted; returns the detached table's name.
+    public String detachForArchive(String partition) {
+        if (!partitions().contains(partition)) {
+            throw new IllegalArgumentException("Not an analytics partition: " + partition);
+        }
+        String detached = partition + ARCHIVING_SUFFIX;
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, partition));
+            jdbcTemplate.execute(String.format("ALTER TABLE %s RENAME TO %s", partition, detached));
+        });
+        return detached;
+    }
+
+    // Tables detachForArchive() left behind, oldest first
+    public List<String> detachedForArchive() {
+        return jdbcTemplate.queryForList("SELECT relname FROM pg_class WHERE relkind = 'r' " +
+                "AND relnamespace = current_schema()::regnamespace AND relname LIKE ? ORDER BY relname",
+                String.class, PARENT_TABLE + "\\_%" + ARCHIVING_SUFFIX).stream()
+                .filter(table -> monthOf(partitionOf(table)) != null)
+                .toList();
+    }
+
+    // The partition a table from detachedForArchive() was detached from
+    public static String partitionOf(String detached) {
+        return detached.endsWith(ARCHIVING_SUFFIX)
+                ? detached.substring(0, detached.length() - ARCHIVING_SUFFIX.length())
+                : detached;
+    }
+
+    // Used by the archiver once a month is safely on disk
+    public void dropDetached(String detached) {
+        if (!detachedForArchive().contains(detached)) {
+            throw new IllegalArgumentException("Not a detached analytics partition: " + detached);
+        }
+        jdbcTemplate.execute(String.format("DROP TABLE %s", detached));
+    }
+
+    // Puts a month back when archiving it failed, so its rows are queryable again until the next attempt
+    public void reattach(String detached) {
+        if (!detachedForArchive().contains(detached)) {
+            throw new IllegalArgumentException("Not a detached analytics partition: " + detached);
+        }
+        String partition = partitionOf(detached);
+        YearMonth month = monthOf(partition);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s RENAME TO %s", detached, partition));
+            jdbcTemplate.execute(String.format("ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                    PARENT_TABLE, partition, month.atDay(1), month.plusMonths(1).atDay(1)));
+        });
+    }
+
+    private void remove(String partition, ExpiredAction action) {
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, partition));
+        if (action == ExpiredAction.DROP) {
+            jdbcTemplate.execute(String.format("DROP TABLE %s", partition));
+        }
+    }
+}
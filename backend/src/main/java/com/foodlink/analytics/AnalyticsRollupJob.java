@@ -0,0 +1,102 @@
+package com.foodlink.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Folds new analytics_events rows into the daily rollup table. Only rows above the stored id
+// watermark are read, and only rows inserted more than the settle lag ago: identity ids are
+// handed out before commit, so the newest ids can still become visible out of order. The lag is
+// measured on inserted_at, the inserting transaction's start by the database clock, not on the
+// client-supplied created_at, so it only has to outlast the longest insert transaction. The main
+// pass carries a created_at lower bound so Postgres prunes analytics_events partitions; rows in
+// the same id range dated before that bound (e.g. a spool replayed after a long outage) are
+// folded by a second pass that probes the older partitions' primary keys by id.
+@Slf4j
+@Component
+public class AnalyticsRollupJob {
+
+    static final String WATERMARK = "analytics_rollups";
+
+    private static final String DAILY_UPSERT = "INSERT INTO analytics_daily_rollups " +
+            "(creator_id, recommendation_id, event_type, bucket_date, event_count) " +
+            "SELECT creator_id, COALESCE(recommendation_id, 0), event_type, CAST(created_at AS DATE), COUNT(*) " +
+            "FROM analytics_events WHERE id > ? AND id <= ? AND created_at %s ? AND creator_id IS NOT NULL " +
+            "GROUP BY 1, 2, 3, 4 " +
+            "ON CONFLICT (creator_id, bucket_date, event_type, recommendation_id) " +
+            "DO UPDATE SET event_count = analytics_daily_rollups.event_count + EXCLUDED.event_count";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Counter rolledUp;
+
+    @Value("${app.analytics.rollup.settle-lag-seconds:60}")
+    private long settleLagSeconds;
+
+    @Value("${app.analytics.rollup.max-events-per-run:200000}")
+    private long maxEventsPerRun;
+
+    // How far before the last rolled-up event a late row (e.g. a spool replay) may still be dated
+    @Value("${app.analytics.rollup.late-event-slack-hours:48}")
+    private long lateEventSlackHours;
+
+    public AnalyticsRollupJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.rolledUp = meterRegistry.counter("foodlink.analytics.rollup.events");
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.rollup.interval-ms:60000}")
+    public void rollUp() {
+        try {
+            Long covered = transaction.execute(status -> rollUpBatch());
+            if (covered != null && covered > 0) {
+                rolledUp.increment(covered);
+                log.debug("Rolled up {} analytics event ids", covered);
+            }
+        } catch (Exception e) {
+            log.warn("Analytics rollup failed: {}", e.getMessage());
+        }
+    }
+
+    // Returns the number of event ids covered; the whole step commits or rolls back as one
+    private long rollUpBatch() {
+        // Row lock keeps two nodes from folding the same range twice
+        Object[] watermark = jdbcTemplate.queryForObject(
+                "SELECT last_event_id, last_created_at FROM analytics_rollup_watermarks WHERE name = ? FOR UPDATE",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getTimestamp(2)}, WATERMARK);
+        long from = (Long) watermark[0];
+        Timestamp lastCreatedAt = (Timestamp) watermark[1];
+        Timestamp scanFrom = lastCreatedAt != null
+                ? Timestamp.valueOf(lastCreatedAt.toLocalDateTime().minusHours(lateEventSlackHours))
+                : new Timestamp(0);
+
+        Object[] range = jdbcTemplate.queryForObject(
+                "SELECT MAX(id), MAX(created_at) FROM (SELECT id, created_at, inserted_at FROM analytics_events " +
+                        "WHERE id > ? AND created_at >= ? ORDER BY id LIMIT ?) next_events " +
+                        "WHERE inserted_at < NOW() - make_interval(secs => ?)",
+                (rs, rowNum) -> new Object[]{rs.getObject(1, Long.class), rs.getTimestamp(2)},
+                from, scanFrom, maxEventsPerRun, settleLagSeconds);
+        Long to = (Long) range[0];
+        if (to == null) {
+            return 0;
+        }
+
+        jdbcTemplate.update(String.format(DAILY_UPSERT, ">="), from, to, scanFrom);
+        // The watermark moves past these too, so they are folded now or never
+        jdbcTemplate.update(String.format(DAILY_UPSERT, "<"), from, to, scanFrom);
+        jdbcTemplate.update("UPDATE analytics_rollup_watermarks SET last_event_id = ?, " +
+                        "last_created_at = GREATEST(COALESCE(last_created_at, ?), ?), updated_at = NOW() WHERE name = ?",
+                to, range[1], range[1], WATERMARK);
+        return to - from;
+    }
+}
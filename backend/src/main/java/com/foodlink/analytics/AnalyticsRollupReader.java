@@ -0,0 +1,59 @@
+package com.foodlink.analytics;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dashboard reads over analytics_daily_rollups; each query touches at most one row per day,
+// event type and recommendation in the range, independent of raw event volume
+@Component
+public class AnalyticsRollupReader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsRollupReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<AnalyticsEvent.EventType, Long> totals(Long creatorId, LocalDate from, LocalDate to) {
+        Map<AnalyticsEvent.EventType, Long> totals = new EnumMap<>(AnalyticsEvent.EventType.class);
+        jdbcTemplate.query("SELECT event_type, SUM(event_count) FROM analytics_daily_rollups " +
+                        "WHERE creator_id = ? AND bucket_date BETWEEN ? AND ? GROUP BY event_type",
+                rs -> {
+                    totals.put(AnalyticsEvent.EventType.valueOf(rs.getString(1)), rs.getLong(2));
+                },
+                creatorId, Date.valueOf(from), Date.valueOf(to));
+        return totals;
+    }
+
+    public Map<LocalDate, Long> dailyCounts(Long creatorId, AnalyticsEvent.EventType eventType, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT bucket_date, SUM(event_count) FROM analytics_daily_rollups " +
+                        "WHERE creator_id = ? AND event_type = ? AND bucket_date BETWEEN ? AND ? " +
+                        "GROUP BY bucket_date ORDER BY bucket_date",
+                rs -> {
+                    counts.put(rs.getDate(1).toLocalDate(), rs.getLong(2));
+                },
+                creatorId, eventType.name(), Date.valueOf(from), Date.valueOf(to));
+        return counts;
+    }
+
+    // [recommendationId, views, instagramClicks], most viewed first
+    public List<long[]> topRecommendations(Long creatorId, LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query("SELECT recommendation_id, " +
+                        "SUM(CASE WHEN event_type = 'RECOMMENDATION_VIEW' THEN event_count ELSE 0 END) AS views, " +
+                        "SUM(CASE WHEN event_type = 'INSTAGRAM_CLICK' THEN event_count ELSE 0 END) AS instagram_clicks " +
+                        "FROM analytics_daily_rollups " +
+                        "WHERE creator_id = ? AND bucket_date BETWEEN ? AND ? AND recommendation_id <> 0 " +
+                        "GROUP BY recommendation_id ORDER BY views DESC, instagram_clicks DESC LIMIT ?",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)},
+                creatorId, Date.valueOf(from), Date.valueOf(to), limit);
+    }
+}
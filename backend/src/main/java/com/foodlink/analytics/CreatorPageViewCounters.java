@@ -0,0 +1,120 @@
+package com.foodlink.analytics;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Maintains creators.total_page_views from PAGE_VIEW events. With write-behind on, views are
+// coalesced per creator and flushed as relative UPDATEs; with it off, each ingested batch is
+// applied immediately, still as one atomic increment per creator. The creator cache is not
+// invalidated by a flush, or a viral creator would be reloaded every interval: a cached total
+// lags by the views flushed since it was loaded, until the cached copy expires.
+@Slf4j
+@Component
+public class CreatorPageViewCounters implements AnalyticsEventObserver, SmartLifecycle {
+
+    private static final String UPDATE_SQL =
+            "UPDATE creators SET total_page_views = COALESCE(total_page_views, 0) + ? WHERE id = ?";
+
+    // Never removed: keys are creator ids resolved from the database, so bounded by the number of creators
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean writeBehind;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+
+    public CreatorPageViewCounters(JdbcTemplate jdbcTemplate,
+                                   @Value("${app.analytics.page-views.write-behind:true}") boolean writeBehind,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeBehind = writeBehind;
+        this.flushTimer = meterRegistry.timer("foodlink.creator.page-views.flush");
+    }
+
+    public int pending(Long creatorId) {
+        LongAdder adder = creatorId != null ? pending.get(creatorId) : null;
+        return adder != null ? (int) adder.sum() : 0;
+    }
+
+    @Override
+    public void onEvents(List<IngestedEvent> events) {
+        Map<Long, Integer> views = new HashMap<>();
+        for (IngestedEvent event : events) {
+            if (event.getEventType() == AnalyticsEvent.EventType.PAGE_VIEW && event.getCreatorId() != null) {
+                views.merge(event.getCreatorId(), 1, Integer::sum);
+            }
+        }
+        if (writeBehind) {
+            views.forEach((creatorId, count) -> pending.computeIfAbsent(creatorId, id -> new LongAdder()).add(count));
+        } else if (!views.isEmpty()) {
+            List<long[]> rows = new ArrayList<>(views.size());
+            views.forEach((creatorId, count) -> rows.add(new long[]{creatorId, count}));
+            write(rows);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.page-views.flush-interval-ms:5000}")
+    public void flush() {
+        List<long[]> rows = new ArrayList<>();
+        pending.forEach((creatorId, adder) -> {
+            long views = adder.sumThenReset();
+            if (views != 0) {
+                rows.add(new long[]{creatorId, views});
+            }
+        });
+        if (!rows.isEmpty()) {
+            write(rows);
+        }
+    }
+
+    // Plain JDBC, so no surrounding transaction is needed; failed rows go back to pending for the next flush
+    private void write(List<long[]> rows) {
+        rows.sort((a, b) -> Long.compare(a[0], b[0]));
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setLong(1, row[1]);
+                ps.setLong(2, row[0]);
+            }));
+        } catch (Exception e) {
+            log.warn("Failed to flush page views for {} creators: {}", rows.size(), e.getMessage());
+            for (long[] row : rows) {
+                pending.computeIfAbsent(row[0], id -> new LongAdder()).add(row[1]);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 5120;
+    }
+}
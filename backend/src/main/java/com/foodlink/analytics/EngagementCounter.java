@@ -0,0 +1,22 @@
+package com.foodlink.analytics;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+
+public enum EngagementCounter {
+    VIEWS, INSTAGRAM_CLICKS, MAPS_CLICKS, SAVES;
+
+    public static EngagementCounter of(AnalyticsEvent.EventType eventType) {
+        switch (eventType) {
+            case RECOMMENDATION_VIEW:
+                return VIEWS;
+            case INSTAGRAM_CLICK:
+                return INSTAGRAM_CLICKS;
+            case MAPS_CLICK:
+                return MAPS_CLICKS;
+            case SAVE:
+                return SAVES;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.foodlink.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Coalesces view/click counts per recommendation in memory and applies them as relative
+// UPDATEs, so a burst of clicks on one recommendation costs one row update per flush instead
+// of one locked read-modify-write per click. Only ids AnalyticsEventPersister has checked
+// against the database reach onEvents, and a recommendation that had nothing to flush is
+// dropped from memory, so the map holds the recently active recommendations only.
+@Slf4j
+@Component
+public class EngagementCounters implements AnalyticsEventObserver, SmartLifecycle {
+
+    private static final String UPDATE_SQL = "UPDATE recommendations SET " +
+            "view_count = COALESCE(view_count, 0) + ?, " +
+            "instagram_clicks = COALESCE(instagram_clicks, 0) + ?, " +
+            "maps_clicks = COALESCE(maps_clicks, 0) + ?, " +
+            "save_count = COALESCE(save_count, 0) + ? " +
+            "WHERE id = ?";
+
+    private static final int COUNTER_TYPES = EngagementCounter.values().length;
+
+    private final Map<Long, AtomicLongArray> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter flushedRows;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+
+    public EngagementCounters(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushedRows = meterRegistry.counter("foodlink.engagement.flushed.rows");
+        this.flushTimer = meterRegistry.timer("foodlink.engagement.flush");
+    }
+
+    public void increment(Long recommendationId, EngagementCounter counter) {
+        add(recommendationId, counter, 1);
+    }
+
+    // Delta not yet written to the database, added on top of the entity value when reading
+    public int pending(Long recommendationId, EngagementCounter counter) {
+        AtomicLongArray deltas = recommendationId != null ? pending.get(recommendationId) : null;
+        return deltas != null ? (int) deltas.get(counter.ordinal()) : 0;
+    }
+
+    public int withPending(Integer persisted, Long recommendationId, EngagementCounter counter) {
+        return (persisted != null ? persisted : 0) + pending(recommendationId, counter);
+    }
+
+    @Override
+    public void onEvents(List<IngestedEvent> events) {
+        for (IngestedEvent event : events) {
+            EngagementCounter counter = EngagementCounter.of(event.getEventType());
+            if (counter != null && event.getRecommendationId() != null) {
+                increment(event.getRecommendationId(), counter);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.counters.flush-interval-ms:1000}")
+    public void flush() {
+        List<long[]> rows = new ArrayList<>();
+        // Drained under the same per-key lock as add(), so a delta is either in the row or stays
+        // in the map; a recommendation that had nothing since the previous flush is dropped
+        for (Long id : pending.keySet()) {
+            pending.computeIfPresent(id, (key, deltas) -> {
+                long[] row = new long[COUNTER_TYPES + 1];
+                boolean changed = false;
+                for (int i = 0; i < COUNTER_TYPES; i++) {
+                    row[i] = deltas.getAndSet(i, 0);
+                    changed |= row[i] != 0;
+                }
+                if (!changed) {
+                    return null;
+                }
+                row[COUNTER_TYPES] = id;
+                rows.add(row);
+                return deltas;
+            });
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // Fixed row order so concurrent flushes from several nodes cannot deadlock
+        rows.sort((a, b) -> Long.compare(a[COUNTER_TYPES], b[COUNTER_TYPES]));
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+                for (int i = 0; i < COUNTER_TYPES; i++) {
+                    ps.setLong(i + 1, row[i]);
+                }
+                ps.setLong(COUNTER_TYPES + 1, row[COUNTER_TYPES]);
+            }));
+            flushedRows.increment(rows.size());
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            log.warn("Failed to flush engagement counters for {} recommendations: {}", rows.size(), e.getMessage());
+            for (long[] row : rows) {
+                for (int i = 0; i < COUNTER_TYPES; i++) {
+                    if (row[i] != 0) {
+                        add(row[COUNTER_TYPES], EngagementCounter.values()[i], row[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(Long recommendationId, EngagementCounter counter, long delta) {
+        pending.compute(recommendationId, (id, deltas) -> {
+            AtomicLongArray target = deltas != null ? deltas : new AtomicLongArray(COUNTER_TYPES);
+            target.addAndGet(counter.ordinal(), delta);
+            return target;
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Stops after AnalyticsEventWriter (lower phase), so its final drain is counted before this flush
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 5120;
+    }
+}
@@ -0,0 +1,125 @@
+package com.foodlink.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import com.foodlink.dto.request.TrackEventRequest;
+import com.foodlink.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Parses POST /public/events/batch bodies. Two shapes are accepted:
+//   [ {TrackEventRequest}, ... ]                                  plain JSON array
+//   {"s": slug, "i": sessionId, "e": [[code, recId, query], ...]} compact positional form
+// The compact form states slug and session once per batch and each event as a short array;
+// trailing nulls can be omitted. Bodies may arrive as text/plain, which is what
+// navigator.sendBeacon sends for a string and which avoids a CORS preflight.
+@Component
+public class EventBatchParser {
+
+    static final Map<String, AnalyticsEvent.EventType> COMPACT_CODES = Map.of(
+            "pv", AnalyticsEvent.EventType.PAGE_VIEW,
+            "se", AnalyticsEvent.EventType.SEARCH,
+            "rv", AnalyticsEvent.EventType.RECOMMENDATION_VIEW,
+            "ic", AnalyticsEvent.EventType.INSTAGRAM_CLICK,
+            "mc", AnalyticsEvent.EventType.MAPS_CLICK,
+            "sv", AnalyticsEvent.EventType.SAVE);
+
+    private final ObjectMapper objectMapper;
+    private final int maxEvents;
+
+    public EventBatchParser(ObjectMapper objectMapper, @Value("${app.analytics.ingest.max-batch-events:200}") int maxEvents) {
+        this.objectMapper = objectMapper;
+        this.maxEvents = maxEvents;
+    }
+
+    public List<TrackEventRequest> parse(String body) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed event batch");
+        }
+        if (root == null) {
+            throw new BadRequestException("Empty event batch");
+        }
+
+        List<TrackEventRequest> events;
+        if (root.isArray()) {
+            checkSize(root.size());
+            events = new ArrayList<>(root.size());
+            for (JsonNode node : root) {
+                events.add(toRequest(node));
+            }
+        } else if (root.isObject() && root.path("e").isArray()) {
+            events = parseCompact(root);
+        } else {
+            throw new BadRequestException("Event batch must be an array or a compact batch object");
+        }
+
+        for (TrackEventRequest event : events) {
+            if (event.getEventType() == null) {
+                throw new BadRequestException("Event type is required");
+            }
+        }
+        return events;
+    }
+
+    private List<TrackEventRequest> parseCompact(JsonNode root) {
+        JsonNode rows = root.get("e");
+        checkSize(rows.size());
+        String creatorSlug = text(root.get("s"));
+        UUID sessionId = uuid(root.get("i"));
+
+        List<TrackEventRequest> events = new ArrayList<>(rows.size());
+        for (JsonNode row : rows) {
+            if (!row.isArray() || row.isEmpty()) {
+                throw new BadRequestException("Compact events must be non-empty arrays");
+            }
+            TrackEventRequest event = new TrackEventRequest();
+            event.setEventType(COMPACT_CODES.get(row.get(0).asText()));
+            event.setRecommendationId(row.hasNonNull(1) ? row.get(1).asLong() : null);
+            event.setSearchQuery(text(row.get(2)));
+            event.setCreatorSlug(creatorSlug);
+            event.setSessionId(sessionId);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private TrackEventRequest toRequest(JsonNode node) {
+        try {
+            return objectMapper.treeToValue(node, TrackEventRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed event in batch");
+        }
+    }
+
+    private void checkSize(int size) {
+        if (size > maxEvents) {
+            throw new BadRequestException("Event batch exceeds " + maxEvents + " events");
+        }
+    }
+
+    private static String text(JsonNode node) {
+        return node != null && !node.isNull() ? node.asText() : null;
+    }
+
+    private static UUID uuid(JsonNode node) {
+        String value = text(node);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid session id");
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.foodlink.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// HyperLogLog cardinality sketch. At the default precision (p = 14, 16384 registers) the
+// standard error is 1.04 / sqrt(16384), about 0.8%. Sketches of the same precision merge by
+// taking the register-wise maximum, so a date range is the merge of its daily sketches.
+// Most creator-days see few visitors, so a sketch starts as a small hash table of the registers
+// that are set and switches to the full register array once m / 16 of them are.
+// Not thread-safe; callers synchronize.
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 14;
+    // The sparse format stores register indexes as unsigned shorts
+    public static final int MAX_PRECISION = 16;
+
+    private static final byte FORMAT_SPARSE = 0;
+    private static final byte FORMAT_DENSE = 1;
+    private static final int BITS_PER_REGISTER = 6;
+    private static final int INITIAL_SPARSE_CAPACITY = 16;
+
+    private final int precision;
+    // Open addressing, entries are (index + 1) << 8 | rank and 0 is empty; null once dense
+    private int[] sparse;
+    private int sparseCount;
+    // null while sparse
+    private byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between 4 and " + MAX_PRECISION);
+        }
+        this.precision = precision;
+        this.sparse = new int[INITIAL_SPARSE_CAPACITY];
+    }
+
+    public void offer(String value) {
+        offerHash(hash64(value));
+    }
+
+    public void offerHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining), 64 - precision) + 1;
+        raise(index, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        if (other.registers == null) {
+            other.forEachSet(this::raise);
+            return;
+        }
+        if (registers == null) {
+            densify();
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = 1 << precision;
+        double[] sum = {0};
+        int[] zeros = {m};
+        forEachSet((index, rank) -> {
+            sum[0] += 1.0 / (1L << rank);
+            zeros[0]--;
+        });
+        // Every empty register adds 1 / 2^0
+        sum[0] += zeros[0];
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum[0];
+        // Small-range correction: linear counting is more accurate while many registers are empty
+        if (estimate <= 2.5 * m && zeros[0] > 0) {
+            estimate = m * Math.log((double) m / zeros[0]);
+        }
+        return Math.round(estimate);
+    }
+
+    // Sparse (index, value) pairs while few registers are set, 6-bit packed registers otherwise
+    public byte[] toBytes() {
+        int[] nonZero = {0};
+        forEachSet((index, rank) -> nonZero[0]++);
+        int denseSize = (1 << precision) * BITS_PER_REGISTER / 8;
+        int sparseSize = 4 + nonZero[0] * 3;
+
+        if (sparseSize < denseSize) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 + sparseSize);
+            buffer.put(FORMAT_SPARSE).put((byte) precision).putInt(nonZero[0]);
+            forEachSet((index, rank) -> buffer.putShort((short) index).put((byte) rank));
+            return buffer.array();
+        }
+
+        byte[] dense = registers != null ? registers : copy().densify();
+        byte[] bytes = new byte[2 + denseSize];
+        bytes[0] = FORMAT_DENSE;
+        bytes[1] = (byte) precision;
+        for (int i = 0; i < dense.length; i++) {
+            int bit = i * BITS_PER_REGISTER;
+            int value = dense[i] << (bit & 7);
+            bytes[2 + (bit >> 3)] |= (byte) value;
+            if ((bit & 7) > 8 - BITS_PER_REGISTER) {
+                bytes[2 + (bit >> 3) + 1] |= (byte) (value >>> 8);
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        HyperLogLog sketch = new HyperLogLog(buffer.get());
+        if (format == FORMAT_SPARSE) {
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                sketch.raise(buffer.getShort() & 0xFFFF, buffer.get());
+            }
+        } else if (format == FORMAT_DENSE) {
+            byte[] registers = sketch.densify();
+            for (int i = 0; i < registers.length; i++) {
+                int bit = i * BITS_PER_REGISTER;
+                int value = (bytes[2 + (bit >> 3)] & 0xFF) >>> (bit & 7);
+                if ((bit & 7) > 8 - BITS_PER_REGISTER) {
+                    value |= (bytes[2 + (bit >> 3) + 1] & 0xFF) << (8 - (bit & 7));
+                }
+                registers[i] = (byte) (value & ((1 << BITS_PER_REGISTER) - 1));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown sketch format " + format);
+        }
+        return sketch;
+    }
+
+    public HyperLogLog copy() {
+        HyperLogLog copy = new HyperLogLog(precision);
+        copy.sparse = sparse != null ? sparse.clone() : null;
+        copy.sparseCount = sparseCount;
+        copy.registers = registers != null ? registers.clone() : null;
+        return copy;
+    }
+
+    // Sets the register to rank unless it already holds a higher one
+    private void raise(int index, int rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+            return;
+        }
+        int mask = sparse.length - 1;
+        // Index bits come from the hash, so they spread over the table as they are
+        for (int slot = index & mask; ; slot = (slot + 1) & mask) {
+            int entry = sparse[slot];
+            if (entry == 0) {
+                sparse[slot] = (index + 1) << 8 | rank;
+                sparseCount++;
+                if (sparseCount > (1 << precision) >> 4) {
+                    densify();
+                } else if (sparseCount * 2 > sparse.length) {
+                    resizeSparse();
+                }
+                return;
+            }
+            if (entry >>> 8 == index + 1) {
+                if (rank > (entry & 0xFF)) {
+                    sparse[slot] = (index + 1) << 8 | rank;
+                }
+                return;
+            }
+        }
+    }
+
+    private void resizeSparse() {
+        int[] table = new int[sparse.length * 2];
+        int mask = table.length - 1;
+        for (int entry : sparse) {
+            if (entry != 0) {
+                int slot = ((entry >>> 8) - 1) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry;
+            }
+        }
+        sparse = table;
+    }
+
+    private byte[] densify() {
+        if (registers == null) {
+            byte[] dense = new byte[1 << precision];
+            forEachSet((index, rank) -> dense[index] = (byte) rank);
+            registers = dense;
+            sparse = null;
+            sparseCount = 0;
+        }
+        return registers;
+    }
+
+    private void forEachSet(RegisterVisitor visitor) {
+        if (registers != null) {
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    visitor.visit(i, registers[i]);
+                }
+            }
+            return;
+        }
+        for (int entry : sparse) {
+            if (entry != 0) {
+                visitor.visit((entry >>> 8) - 1, entry & 0xFF);
+            }
+        }
+    }
+
+    private interface RegisterVisitor {
+        void visit(int index, int rank);
+    }
+
+    // FNV-1a over the UTF-8 bytes followed by the MurmurHash3 finalizer, so every bit of the
+    // result depends on every input byte (HLL takes its register index from the top bits)
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53a87c5L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,29 @@
+package com.foodlink.analytics;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An accepted analytics beacon waiting to be written. Everything from the HTTP request is
+// captured up front so the write can happen on another thread; creatorId is resolved in batches.
+@Value
+@Builder
+public class IngestedEvent {
+
+    AnalyticsEvent.EventType eventType;
+    String creatorSlug;
+    @With
+    Long creatorId;
+    @With
+    Long recommendationId;
+    String searchQuery;
+    String userAgent;
+    String ipAddress;
+    String referrer;
+    UUID sessionId;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,151 @@
+package com.foodlink.analytics;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Most frequent search queries per creator, kept as one bounded Space-Saving summary per day.
+// SEARCH events update in-memory summaries that are checkpointed into Postgres by merging;
+// "top N over the last 7/30 days" merges the daily summaries without reading raw events.
+@Slf4j
+@Component
+public class SearchQueryHeavyHitters implements AnalyticsEventObserver, SmartLifecycle {
+
+    private record SummaryKey(Long creatorId, LocalDate date) {
+    }
+
+    // Fixed row order so concurrent checkpoints from several nodes cannot deadlock
+    private static final Comparator<SummaryKey> LOCK_ORDER =
+            Comparator.comparing(SummaryKey::creatorId).thenComparing(SummaryKey::date);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int capacity;
+    private final Timer checkpointTimer;
+
+    // Guarded by this; swapped out whole on checkpoint, same as UniqueVisitorSketches
+    private Map<SummaryKey, SpaceSaving> pending = new HashMap<>();
+    private volatile boolean running;
+
+    public SearchQueryHeavyHitters(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.analytics.search-queries.capacity:200}") int capacity,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.checkpointTimer = meterRegistry.timer("foodlink.analytics.search-queries.checkpoint");
+    }
+
+    @Override
+    public synchronized void onEvents(List<IngestedEvent> events) {
+        for (IngestedEvent event : events) {
+            if (event.getEventType() != AnalyticsEvent.EventType.SEARCH || event.getCreatorId() == null) {
+                continue;
+            }
+            String label = SearchQueryNormalizer.label(event.getSearchQuery());
+            if (label.isEmpty()) {
+                continue;
+            }
+            pending.computeIfAbsent(new SummaryKey(event.getCreatorId(), event.getCreatedAt().toLocalDate()),
+                    key -> new SpaceSaving(capacity)).offer(SearchQueryNormalizer.key(label), label);
+        }
+    }
+
+    public List<String> topQueries(Long creatorId, LocalDate from, LocalDate to, int limit) {
+        SpaceSaving merged = new SpaceSaving(capacity);
+        jdbcTemplate.query("SELECT summary FROM analytics_search_query_topk " +
+                        "WHERE creator_id = ? AND bucket_date BETWEEN ? AND ?",
+                rs -> {
+                    merged.merge(SpaceSaving.fromBytes(rs.getBytes(1)));
+                },
+                creatorId, Date.valueOf(from), Date.valueOf(to));
+        synchronized (this) {
+            pending.forEach((key, summary) -> {
+                if (key.creatorId().equals(creatorId) && !key.date().isBefore(from) && !key.date().isAfter(to)) {
+                    merged.merge(summary);
+                }
+            });
+        }
+        return merged.top(limit).stream()
+                .map(SpaceSaving.Counter::getLabel)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.search-queries.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        Map<SummaryKey, SpaceSaving> flushing;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            flushing = pending;
+            pending = new HashMap<>();
+        }
+
+        List<SummaryKey> keys = new ArrayList<>(flushing.keySet());
+        keys.sort(LOCK_ORDER);
+        try {
+            checkpointTimer.record(() -> transaction.executeWithoutResult(status ->
+                    keys.forEach(key -> mergeIntoStored(key, flushing.get(key)))));
+        } catch (Exception e) {
+            log.warn("Failed to checkpoint {} search query summaries: {}", flushing.size(), e.getMessage());
+            synchronized (this) {
+                flushing.forEach((key, summary) -> pending.merge(key, summary, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                }));
+            }
+        }
+    }
+
+    private void mergeIntoStored(SummaryKey key, SpaceSaving summary) {
+        Date date = Date.valueOf(key.date());
+        jdbcTemplate.update("INSERT INTO analytics_search_query_topk (creator_id, bucket_date, summary) VALUES (?, ?, ?) " +
+                "ON CONFLICT (creator_id, bucket_date) DO NOTHING", key.creatorId(), date, new SpaceSaving(capacity).toBytes());
+        byte[] stored = jdbcTemplate.queryForObject("SELECT summary FROM analytics_search_query_topk " +
+                "WHERE creator_id = ? AND bucket_date = ? FOR UPDATE", byte[].class, key.creatorId(), date);
+        SpaceSaving merged = SpaceSaving.fromBytes(stored);
+        merged.merge(summary);
+        jdbcTemplate.update("UPDATE analytics_search_query_topk SET summary = ?, updated_at = NOW() " +
+                "WHERE creator_id = ? AND bucket_date = ?", merged.toBytes(), key.creatorId(), date);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        checkpoint();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 5120;
+    }
+}
@@ -0,0 +1,40 @@
+package com.foodlink.analytics;
+
+import com.foodlink.search.TextAnalyzer;
+
+import java.util.regex.Pattern;
+
+// Groups search queries that differ only in case, spacing, accents or common romanization
+// of Hindi dish names ("paneer"/"panir", "keema"/"kima", "chhole"/"chole"/"choley",
+// "biriyani"/"biryani", "tikka"/"tika"), so they count as one query
+public final class SearchQueryNormalizer {
+
+    static final int MAX_LENGTH = 100;
+
+    private static final Pattern DOUBLE_A = Pattern.compile("aa+");
+    private static final Pattern DOUBLE_E = Pattern.compile("ee+");
+    private static final Pattern DOUBLE_O = Pattern.compile("oo+");
+    // After the vowel rules, so "ee" has already become "i"
+    private static final Pattern DOUBLED_LETTER = Pattern.compile("([a-z])\\1+");
+    private static final Pattern GLIDE_I = Pattern.compile("iy(?=[aeiou])");
+    private static final Pattern FINAL_EY = Pattern.compile("ey\\b");
+
+    private SearchQueryNormalizer() {
+    }
+
+    // Case, whitespace and accent folding; this is the form shown on the dashboard
+    public static String label(String query) {
+        String normalized = TextAnalyzer.normalize(query);
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH).trim() : normalized;
+    }
+
+    // Label plus transliteration folding; queries with the same key are counted together
+    public static String key(String label) {
+        String folded = DOUBLE_A.matcher(label).replaceAll("a");
+        folded = DOUBLE_E.matcher(folded).replaceAll("i");
+        folded = DOUBLE_O.matcher(folded).replaceAll("u");
+        folded = DOUBLED_LETTER.matcher(folded).replaceAll("$1");
+        folded = GLIDE_I.matcher(folded).replaceAll("y");
+        return FINAL_EY.matcher(folded).replaceAll("e");
+    }
+}
@@ -0,0 +1,170 @@
+package com.foodlink.analytics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Space-Saving heavy hitters (Metwally et al.): at most `capacity` counters. A new key that
+// arrives when the summary is full takes over the smallest counter and inherits its count as
+// error, so every key whose true count exceeds total / capacity is guaranteed to be tracked.
+// Summaries merge as in Agarwal et al., "Mergeable Summaries", which keeps both the guarantee
+// and count - error <= true count <= count for the merged total.
+// Not thread-safe; callers synchronize.
+public class SpaceSaving {
+
+    public static final class Counter {
+        private final String key;
+        private final String label;
+        private long count;
+        private long error;
+
+        private Counter(String key, String label, long count, long error) {
+            this.key = key;
+            this.label = label;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        // The query as a visitor typed it (normalized), shown instead of the folded key
+        public String getLabel() {
+            return label;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+
+    private static final Comparator<Counter> BY_COUNT_DESC =
+            Comparator.comparingLong(Counter::getCount).reversed().thenComparing(Counter::getKey);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void offer(String key, String label) {
+        offer(key, label, 1, 0);
+    }
+
+    private void offer(String key, String label, long weight, long error) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            counter.error += error;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(key, label, weight, error));
+            return;
+        }
+        // Linear scan is fine at dashboard capacities (a few hundred counters)
+        Counter smallest = null;
+        for (Counter candidate : counters.values()) {
+            if (smallest == null || candidate.count < smallest.count) {
+                smallest = candidate;
+            }
+        }
+        counters.remove(smallest.key);
+        counters.put(key, new Counter(key, label, smallest.count + weight, smallest.count + error));
+    }
+
+    // A key only one side tracks may still have occurred on the other side as often as that
+    // side's smallest counter (zero while it is not full), so that much is added to its count
+    // and error. The largest `capacity` counters are kept.
+    public void merge(SpaceSaving other) {
+        long ownMinimum = minimumCount();
+        long otherMinimum = other.minimumCount();
+        Map<String, Counter> merged = new HashMap<>();
+        for (Counter counter : counters.values()) {
+            Counter shared = other.counters.get(counter.key);
+            merged.put(counter.key, shared != null
+                    ? new Counter(counter.key, counter.label, counter.count + shared.count, counter.error + shared.error)
+                    : new Counter(counter.key, counter.label, counter.count + otherMinimum, counter.error + otherMinimum));
+        }
+        for (Counter counter : other.counters.values()) {
+            if (!counters.containsKey(counter.key)) {
+                merged.put(counter.key, new Counter(counter.key, counter.label,
+                        counter.count + ownMinimum, counter.error + ownMinimum));
+            }
+        }
+        counters.clear();
+        counters.putAll(merged);
+        if (counters.size() > capacity) {
+            List<Counter> kept = top(capacity);
+            counters.clear();
+            kept.forEach(counter -> counters.put(counter.key, counter));
+        }
+    }
+
+    // Upper bound on the count of any key this summary does not track
+    private long minimumCount() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long minimum = Long.MAX_VALUE;
+        for (Counter counter : counters.values()) {
+            minimum = Math.min(minimum, counter.count);
+        }
+        return minimum;
+    }
+
+    public List<Counter> top(int n) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.sort(BY_COUNT_DESC);
+        return sorted.size() > n ? new ArrayList<>(sorted.subList(0, n)) : sorted;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(capacity);
+            out.writeInt(counters.size());
+            for (Counter counter : counters.values()) {
+                out.writeUTF(counter.key);
+                out.writeUTF(counter.label);
+                out.writeLong(counter.count);
+                out.writeLong(counter.error);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SpaceSaving fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            SpaceSaving summary = new SpaceSaving(in.readInt());
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                Counter counter = new Counter(in.readUTF(), in.readUTF(), in.readLong(), in.readLong());
+                summary.counters.put(counter.key, counter);
+            }
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
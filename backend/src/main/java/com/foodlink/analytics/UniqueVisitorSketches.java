@@ -0,0 +1,151 @@
+package com.foodlink.analytics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Distinct visitors per creator and day as HyperLogLog sketches. Ingested events update
+// in-memory sketches; each flush merges them into the stored sketch for the same day, so
+// several nodes can contribute to one creator-day without double counting.
+@Slf4j
+@Component
+public class UniqueVisitorSketches implements AnalyticsEventObserver, SmartLifecycle {
+
+    private record SketchKey(Long creatorId, LocalDate date) {
+    }
+
+    // Fixed row order so concurrent flushes from several nodes cannot deadlock
+    private static final Comparator<SketchKey> LOCK_ORDER =
+            Comparator.comparing(SketchKey::creatorId).thenComparing(SketchKey::date);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Timer flushTimer;
+
+    // Guarded by this; swapped out whole on flush so no update can land in a sketch being written
+    private Map<SketchKey, HyperLogLog> pending = new HashMap<>();
+    private volatile boolean running;
+
+    public UniqueVisitorSketches(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.flushTimer = meterRegistry.timer("foodlink.analytics.visitors.flush");
+    }
+
+    @Override
+    public synchronized void onEvents(List<IngestedEvent> events) {
+        for (IngestedEvent event : events) {
+            String visitor = visitorKey(event);
+            if (event.getCreatorId() == null || visitor == null) {
+                continue;
+            }
+            pending.computeIfAbsent(new SketchKey(event.getCreatorId(), event.getCreatedAt().toLocalDate()),
+                    key -> new HyperLogLog()).offer(visitor);
+        }
+    }
+
+    // Estimated distinct visitors over [from, to], merging stored and not yet flushed sketches
+    public long estimate(Long creatorId, LocalDate from, LocalDate to) {
+        HyperLogLog merged = new HyperLogLog();
+        jdbcTemplate.query("SELECT sketch FROM analytics_visitor_sketches " +
+                        "WHERE creator_id = ? AND bucket_date BETWEEN ? AND ?",
+                rs -> {
+                    merged.merge(HyperLogLog.fromBytes(rs.getBytes(1)));
+                },
+                creatorId, Date.valueOf(from), Date.valueOf(to));
+        synchronized (this) {
+            pending.forEach((key, sketch) -> {
+                if (key.creatorId().equals(creatorId) && !key.date().isBefore(from) && !key.date().isAfter(to)) {
+                    merged.merge(sketch);
+                }
+            });
+        }
+        return merged.estimate();
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.visitors.flush-interval-ms:30000}")
+    public void flush() {
+        Map<SketchKey, HyperLogLog> flushing;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            flushing = pending;
+            pending = new HashMap<>();
+        }
+
+        List<SketchKey> keys = new ArrayList<>(flushing.keySet());
+        keys.sort(LOCK_ORDER);
+        try {
+            flushTimer.record(() -> transaction.executeWithoutResult(status ->
+                    keys.forEach(key -> mergeIntoStored(key, flushing.get(key)))));
+        } catch (Exception e) {
+            log.warn("Failed to flush {} visitor sketches: {}", flushing.size(), e.getMessage());
+            synchronized (this) {
+                flushing.forEach((key, sketch) -> pending.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                }));
+            }
+        }
+    }
+
+    private void mergeIntoStored(SketchKey key, HyperLogLog sketch) {
+        Date date = Date.valueOf(key.date());
+        jdbcTemplate.update("INSERT INTO analytics_visitor_sketches (creator_id, bucket_date, sketch) VALUES (?, ?, ?) " +
+                "ON CONFLICT (creator_id, bucket_date) DO NOTHING", key.creatorId(), date, new HyperLogLog().toBytes());
+        // Row lock serializes read-merge-write with other nodes flushing the same creator-day
+        byte[] stored = jdbcTemplate.queryForObject("SELECT sketch FROM analytics_visitor_sketches " +
+                "WHERE creator_id = ? AND bucket_date = ? FOR UPDATE", byte[].class, key.creatorId(), date);
+        HyperLogLog merged = HyperLogLog.fromBytes(stored);
+        merged.merge(sketch);
+        jdbcTemplate.update("UPDATE analytics_visitor_sketches SET sketch = ?, updated_at = NOW() " +
+                "WHERE creator_id = ? AND bucket_date = ?", merged.toBytes(), key.creatorId(), date);
+    }
+
+    // The session id identifies a browser; without one, fall back to IP plus user agent
+    private static String visitorKey(IngestedEvent event) {
+        if (event.getSessionId() != null) {
+            return event.getSessionId().toString();
+        }
+        if (event.getIpAddress() != null) {
+            return event.getIpAddress() + '|' + (event.getUserAgent() != null ? event.getUserAgent() : "");
+        }
+        return null;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 5120;
+    }
+}
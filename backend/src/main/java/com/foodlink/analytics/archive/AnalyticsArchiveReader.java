@@ -0,0 +1,144 @@
+package com.foodlink.analytics.archive;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Scan engine over archived analytics months. Answers the same questions as
+// AnalyticsEventRepository (event counts, daily counts, top search queries) for events that
+// have left Postgres. Groups are skipped by creator and time range using the segment directory.
+@Slf4j
+@Component
+public class AnalyticsArchiveReader {
+
+    static final String SEGMENT_SUFFIX = ".fseg";
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<String, ArchiveSegment> segments = new ConcurrentSkipListMap<>();
+
+    public AnalyticsArchiveReader(@Value("${app.analytics.archive.dir:./data/analytics-archive}") String directory) {
+        this.directory = Paths.get(directory);
+        loadSegments();
+    }
+
+    private void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).forEach(this::register);
+        } catch (IOException e) {
+            log.warn("Failed to list analytics archive {}: {}", directory, e.getMessage());
+        }
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    void register(Path path) {
+        try {
+            segments.put(path.getFileName().toString(), ArchiveSegment.open(path));
+        } catch (IOException e) {
+            log.warn("Skipping unreadable analytics archive segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    boolean isArchived(String name) {
+        return segments.containsKey(name);
+    }
+
+    public long countEvents(Long creatorId, AnalyticsEvent.EventType eventType, LocalDateTime from, LocalDateTime to) {
+        long[] total = new long[1];
+        scan(creatorId, eventType, from, to, false, (millis, query) -> total[0]++);
+        return total[0];
+    }
+
+    public Map<LocalDate, Long> dailyEventCounts(Long creatorId, AnalyticsEvent.EventType eventType, LocalDateTime from, LocalDateTime to) {
+        Map<LocalDate, Long> counts = new TreeMap<>();
+        scan(creatorId, eventType, from, to, false,
+                (millis, query) -> counts.merge(toDateTime(millis).toLocalDate(), 1L, Long::sum));
+        return counts;
+    }
+
+    // [query, count] pairs, most frequent first, grouped by the raw query text like the repository did
+    public List<Object[]> topSearchQueries(Long creatorId, LocalDateTime from, LocalDateTime to, int limit) {
+        Map<String, Long> counts = new HashMap<>();
+        scan(creatorId, AnalyticsEvent.EventType.SEARCH, from, to, true, (millis, query) -> {
+            if (query != null) {
+                counts.merge(query, 1L, Long::sum);
+            }
+        });
+        List<Object[]> top = new ArrayList<>(counts.size());
+        counts.forEach((query, count) -> top.add(new Object[]{query, count}));
+        top.sort((a, b) -> Long.compare((Long) b[1], (Long) a[1]));
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+
+    private interface RowVisitor {
+        void visit(long createdAtMillis, String searchQuery);
+    }
+
+    // Calls the visitor for each row of the creator with the given type and from <= created_at < to
+    private void scan(Long creatorId, AnalyticsEvent.EventType eventType, LocalDateTime from, LocalDateTime to,
+                      boolean withQueries, RowVisitor visitor) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        long creator = creatorId != null ? creatorId : ArchiveFormat.NULL_CREATOR;
+
+        for (ArchiveSegment segment : segments.values()) {
+            int group = segment.firstGroup(creator);
+            if (group < 0) {
+                continue;
+            }
+            for (; group < segment.groupCount() && segment.creatorId(group) == creator; group++) {
+                if (segment.maxCreatedAt(group) < fromMillis || segment.minCreatedAt(group) >= toMillis) {
+                    continue;
+                }
+                ArchiveSegment.DictionaryColumn types = segment.dictionaryColumn(group, ArchiveFormat.EVENT_TYPE);
+                int typeCode = types.codeOf(eventType.name());
+                if (typeCode < 0) {
+                    continue;
+                }
+                long[] createdAt = segment.deltaColumn(group, ArchiveFormat.CREATED_AT);
+                ArchiveSegment.DictionaryColumn queries = withQueries
+                        ? segment.dictionaryColumn(group, ArchiveFormat.SEARCH_QUERY)
+                        : null;
+                for (int row = 0; row < createdAt.length; row++) {
+                    if (types.codes()[row] != typeCode || createdAt[row] < fromMillis || createdAt[row] >= toMillis) {
+                        continue;
+                    }
+                    String query = null;
+                    if (queries != null && queries.codes()[row] != 0) {
+                        query = queries.entries()[queries.codes()[row] - 1];
+                    }
+                    visitor.visit(createdAt[row], query);
+                }
+            }
+        }
+    }
+
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,196 @@
+package com.foodlink.analytics.archive;
+
+import com.foodlink.analytics.AnalyticsPartitionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// Moves cold months of analytics_events out of Postgres: each monthly partition whose last day is
+// older than after-days is detached first, so late inserts (a spool replay) can no longer reach
+// it, then streamed into a compressed columnar segment, verified against the detached table, and
+// dropped. A month whose archiving fails is attached again. The archive is read back by
+// AnalyticsArchiveReader. Every node runs the schedule; a session advisory lock lets only one
+// of them archive at a time, and is released with its connection if that node dies.
+@Slf4j
+@Component
+public class AnalyticsArchiver {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final String LOCK_KEY = "analytics_archive";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsPartitionManager partitionManager;
+    private final AnalyticsArchiveReader archiveReader;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.analytics.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.analytics.archive.after-days:90}")
+    private int afterDays;
+
+    public AnalyticsArchiver(JdbcTemplate jdbcTemplate, AnalyticsPartitionManager partitionManager,
+                             AnalyticsArchiveReader archiveReader, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionManager = partitionManager;
+        this.archiveReader = archiveReader;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${app.analytics.archive.cron:0 45 3 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        // Session lock, so it is held on this connection for the whole run and released with it
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.debug("Analytics archiving is running on another node");
+                return null;
+            }
+            try {
+                archiveMonths();
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+            return null;
+        });
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void archiveMonths() {
+        // Left detached by a run that stopped half way
+        for (String detached : partitionManager.detachedForArchive()) {
+            archiveDetached(detached);
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+        for (String partition : partitionManager.partitions()) {
+            YearMonth month = AnalyticsPartitionManager.monthOf(partition);
+            if (month == null || !month.plusMonths(1).atDay(1).isBefore(cutoff)) {
+                continue;
+            }
+            String detached;
+            try {
+                detached = partitionManager.detachForArchive(partition);
+            } catch (Exception e) {
+                log.warn("Could not detach analytics partition {} for archiving: {}", partition, e.getMessage());
+                continue;
+            }
+            archiveDetached(detached);
+        }
+    }
+
+    private void archiveDetached(String detached) {
+        String partition = AnalyticsPartitionManager.partitionOf(detached);
+        Path target;
+        try {
+            target = writeVerifiedSegment(partition, detached);
+        } catch (Exception e) {
+            log.warn("Could not archive analytics partition {}: {}", partition, e.getMessage());
+            try {
+                // Queryable again until the next run tries
+                partitionManager.reattach(detached);
+            } catch (Exception reattachFailure) {
+                log.warn("Could not reattach analytics partition {}, the next run retries from {}: {}",
+                        partition, detached, reattachFailure.getMessage());
+            }
+            return;
+        }
+        // Never reattached from here on: the rows are in the archive, and would be counted twice
+        try {
+            partitionManager.dropDetached(detached);
+            log.info("Archived analytics partition {} to {}", partition, target);
+        } catch (Exception e) {
+            log.warn("Archived analytics partition {} but could not drop {}, the next run retries: {}",
+                    partition, detached, e.getMessage());
+        }
+    }
+
+    // The table is detached, so the count cannot change between the copy and the check
+    private Path writeVerifiedSegment(String partition, String table) throws IOException {
+        String fileName = partition + AnalyticsArchiveReader.SEGMENT_SUFFIX;
+        Path target = archiveReader.directory().resolve(fileName);
+        if (archiveReader.isArchived(fileName)) {
+            return target;
+        }
+        Files.createDirectories(archiveReader.directory());
+        Path temp = archiveReader.directory().resolve(fileName + ".tmp");
+        long written = writeSegment(table, temp);
+
+        Long expected = jdbcTemplate.queryForObject(String.format("SELECT COUNT(*) FROM %s", table), Long.class);
+        if (expected == null || expected != written) {
+            Files.deleteIfExists(temp);
+            throw new IllegalStateException("Archived " + written + " rows but the partition has " + expected);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        archiveReader.register(target);
+        if (!archiveReader.isArchived(fileName)) {
+            throw new IllegalStateException("Archive segment " + target + " could not be opened");
+        }
+        return target;
+    }
+
+    // Streams the table with a server-side cursor so a month never has to fit in memory.
+    // The table name comes from partitionManager, never from input.
+    private long writeSegment(String table, Path path) throws IOException {
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(path)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+                cursor.setFetchSize(FETCH_SIZE);
+                cursor.query(String.format("SELECT id, creator_id, created_at, event_type, recommendation_id, search_query, " +
+                        "user_agent, ip_address, referrer, session_id, user_id FROM %s " +
+                        "ORDER BY creator_id NULLS FIRST, created_at, id", table), (RowCallbackHandler) rs -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    ArchivedEvent event = new ArchivedEvent(
+                            rs.getLong("id"),
+                            rs.getObject("creator_id", Long.class),
+                            AnalyticsArchiveReader.toMillis(createdAt.toLocalDateTime()),
+                            rs.getString("event_type"),
+                            rs.getObject("recommendation_id", Long.class),
+                            rs.getString("search_query"),
+                            rs.getString("user_agent"),
+                            rs.getString("ip_address"),
+                            rs.getString("referrer"),
+                            rs.getString("session_id"),
+                            rs.getObject("user_id", Long.class));
+                    try {
+                        writer.add(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            });
+            return writer.rowCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
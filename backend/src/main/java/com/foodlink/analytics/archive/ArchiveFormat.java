@@ -0,0 +1,69 @@
+package com.foodlink.analytics.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+// Layout of an archive segment (one file per archived month):
+//
+//   row groups ...   each group holds the rows of one creator (at most MAX_GROUP_ROWS, ordered by
+//                    created_at) as one deflate-compressed chunk per column
+//   directory        per group: creator id, row count, min/max created_at, then per column
+//                    (offset, compressed length, raw length)
+//   trailer          directory offset (long), group count (int), MAGIC (int)
+//
+// Column encodings inside a chunk: ids and timestamps as zigzag varint deltas from the previous
+// row; nullable longs as varint (value + 1, 0 = null); strings as a per-chunk dictionary
+// (count, UTF-8 entries) followed by one varint index per row (0 = null).
+final class ArchiveFormat {
+
+    static final int MAGIC = 0x464C4147; // "FLAG"
+    static final int TRAILER_BYTES = 16;
+    static final int MAX_GROUP_ROWS = 65_536;
+    static final long NULL_CREATOR = Long.MIN_VALUE;
+
+    static final int ID = 0;
+    static final int CREATED_AT = 1;
+    static final int EVENT_TYPE = 2;
+    static final int RECOMMENDATION_ID = 3;
+    static final int SEARCH_QUERY = 4;
+    static final int USER_AGENT = 5;
+    static final int IP_ADDRESS = 6;
+    static final int REFERRER = 7;
+    static final int SESSION_ID = 8;
+    static final int USER_ID = 9;
+    static final int COLUMN_COUNT = 10;
+
+    // creator id, row count, min and max created_at, then (offset, compressed, raw) per column
+    static final int DIRECTORY_ENTRY_BYTES = 8 + 4 + 8 + 8 + COLUMN_COUNT * (8 + 4 + 4);
+
+    private ArchiveFormat() {
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
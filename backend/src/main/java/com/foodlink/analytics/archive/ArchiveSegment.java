@@ -0,0 +1,210 @@
+package com.foodlink.analytics.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Read side of an archive segment. The file is memory-mapped and only the directory is parsed
+// up front; a scan inflates just the column chunks of the groups it touches. A single mapping is
+// limited to 2 GB, so the row groups are mapped in windows of whole groups and the directory on
+// its own.
+final class ArchiveSegment {
+
+    // Within a directory entry: the (offset, compressed length, raw length) of each column chunk
+    private static final int FIRST_CHUNK = 28;
+    private static final int CHUNK_ENTRY_BYTES = 16;
+
+    private final Path path;
+    private final ByteBuffer directory;
+    private final int groupCount;
+    private final MappedByteBuffer[] windows;
+    private final long[] windowStarts;
+    private final int[] groupWindows;
+
+    private ArchiveSegment(Path path, ByteBuffer directory, int groupCount,
+                           MappedByteBuffer[] windows, long[] windowStarts, int[] groupWindows) {
+        this.path = path;
+        this.directory = directory;
+        this.groupCount = groupCount;
+        this.windows = windows;
+        this.windowStarts = windowStarts;
+        this.groupWindows = groupWindows;
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        return open(path, Integer.MAX_VALUE);
+    }
+
+    // maxWindowBytes only below the 2 GB mapping limit in tests
+    static ArchiveSegment open(Path path, long maxWindowBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer trailer = ByteBuffer.allocate(ArchiveFormat.TRAILER_BYTES);
+            if (size < ArchiveFormat.TRAILER_BYTES) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer, size - ArchiveFormat.TRAILER_BYTES + trailer.position()) < 0) {
+                    throw new IOException("Truncated archive segment: " + path);
+                }
+            }
+            long directoryOffset = trailer.getLong(0);
+            int groupCount = trailer.getInt(8);
+            long directoryBytes = (long) groupCount * ArchiveFormat.DIRECTORY_ENTRY_BYTES;
+            if (trailer.getInt(12) != ArchiveFormat.MAGIC || groupCount < 0
+                    || directoryOffset < 0 || directoryOffset + directoryBytes + ArchiveFormat.TRAILER_BYTES != size) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, directoryBytes);
+
+            // Groups are written back to back, so each window is a run of consecutive groups
+            List<MappedByteBuffer> windows = new ArrayList<>();
+            List<Long> windowStarts = new ArrayList<>();
+            int[] groupWindows = new int[groupCount];
+            long windowStart = 0;
+            for (int group = 0; group < groupCount; group++) {
+                int entry = group * ArchiveFormat.DIRECTORY_ENTRY_BYTES;
+                long groupStart = directory.getLong(entry + FIRST_CHUNK);
+                int last = entry + FIRST_CHUNK + (ArchiveFormat.COLUMN_COUNT - 1) * CHUNK_ENTRY_BYTES;
+                long groupEnd = directory.getLong(last) + directory.getInt(last + 8);
+                if (groupEnd - groupStart > maxWindowBytes) {
+                    throw new IOException("Archive row group too large to map: " + path);
+                }
+                if (groupEnd - windowStart > maxWindowBytes) {
+                    windows.add(channel.map(FileChannel.MapMode.READ_ONLY, windowStart, groupStart - windowStart));
+                    windowStarts.add(windowStart);
+                    windowStart = groupStart;
+                }
+                groupWindows[group] = windows.size();
+            }
+            windows.add(channel.map(FileChannel.MapMode.READ_ONLY, windowStart, directoryOffset - windowStart));
+            windowStarts.add(windowStart);
+
+            return new ArchiveSegment(path, directory, groupCount, windows.toArray(new MappedByteBuffer[0]),
+                    windowStarts.stream().mapToLong(Long::longValue).toArray(), groupWindows);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int groupCount() {
+        return groupCount;
+    }
+
+    long creatorId(int group) {
+        return directory.getLong(entry(group));
+    }
+
+    int rowCount(int group) {
+        return directory.getInt(entry(group) + 8);
+    }
+
+    long minCreatedAt(int group) {
+        return directory.getLong(entry(group) + 12);
+    }
+
+    long maxCreatedAt(int group) {
+        return directory.getLong(entry(group) + 20);
+    }
+
+    // First group of the creator, or -1; groups are sorted by creator id
+    int firstGroup(long creatorId) {
+        int low = 0;
+        int high = groupCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midCreator = creatorId(mid);
+            if (midCreator < creatorId) {
+                low = mid + 1;
+            } else {
+                if (midCreator == creatorId) {
+                    found = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    long[] deltaColumn(int group, int column) {
+        ByteBuffer in = inflate(group, column);
+        long[] values = new long[rowCount(group)];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            previous += ArchiveFormat.unZigZag(ArchiveFormat.readVarLong(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    // Dictionary column: entries()[codes()[row] - 1], code 0 is null
+    DictionaryColumn dictionaryColumn(int group, int column) {
+        ByteBuffer in = inflate(group, column);
+        String[] entries = new String[(int) ArchiveFormat.readVarLong(in)];
+        for (int i = 0; i < entries.length; i++) {
+            byte[] bytes = new byte[(int) ArchiveFormat.readVarLong(in)];
+            in.get(bytes);
+            entries[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        int[] codes = new int[rowCount(group)];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (int) ArchiveFormat.readVarLong(in);
+        }
+        return new DictionaryColumn(entries, codes);
+    }
+
+    record DictionaryColumn(String[] entries, int[] codes) {
+
+        // Dictionary code of value, or -1 when no row in the chunk has it
+        int codeOf(String value) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].equals(value)) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private int entry(int group) {
+        return group * ArchiveFormat.DIRECTORY_ENTRY_BYTES;
+    }
+
+    private ByteBuffer inflate(int group, int column) {
+        int columnEntry = entry(group) + FIRST_CHUNK + column * CHUNK_ENTRY_BYTES;
+        int window = groupWindows[group];
+        int offset = (int) (directory.getLong(columnEntry) - windowStarts[window]);
+        int compressedLength = directory.getInt(columnEntry + 8);
+        int rawLength = directory.getInt(columnEntry + 12);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(windows[window].slice(offset, compressedLength));
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Truncated chunk");
+                }
+                read += inflated;
+            }
+            return ByteBuffer.wrap(raw);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive chunk in " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.foodlink.analytics.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+// Streams rows into an archive segment. Rows must arrive ordered by creator (nulls first)
+// and then created_at; a group is cut whenever the creator changes or MAX_GROUP_ROWS is hit.
+final class ArchiveSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteArrayOutputStream directory = new ByteArrayOutputStream();
+    private final List<ArchivedEvent> group = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private long position;
+    private int groupCount;
+    private long rowCount;
+
+    ArchiveSegmentWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    void add(ArchivedEvent event) throws IOException {
+        if (!group.isEmpty()
+                && (!Objects.equals(group.get(0).creatorId(), event.creatorId()) || group.size() >= ArchiveFormat.MAX_GROUP_ROWS)) {
+            flushGroup();
+        }
+        group.add(event);
+        rowCount++;
+    }
+
+    long rowCount() {
+        return rowCount;
+    }
+
+    private void flushGroup() throws IOException {
+        ArchivedEvent first = group.get(0);
+        ByteBuffer entry = ByteBuffer.allocate(ArchiveFormat.DIRECTORY_ENTRY_BYTES);
+        entry.putLong(first.creatorId() != null ? first.creatorId() : ArchiveFormat.NULL_CREATOR);
+        entry.putInt(group.size());
+        entry.putLong(first.createdAtMillis());
+        entry.putLong(group.get(group.size() - 1).createdAtMillis());
+
+        for (int column = 0; column < ArchiveFormat.COLUMN_COUNT; column++) {
+            byte[] raw = encodeColumn(column);
+            byte[] compressed = deflate(raw);
+            entry.putLong(position).putInt(compressed.length).putInt(raw.length);
+            write(ByteBuffer.wrap(compressed));
+        }
+        directory.write(entry.array());
+        groupCount++;
+        group.clear();
+    }
+
+    private byte[] encodeColumn(int column) {
+        switch (column) {
+            case ArchiveFormat.ID:
+                return deltas(ArchivedEvent::id);
+            case ArchiveFormat.CREATED_AT:
+                return deltas(ArchivedEvent::createdAtMillis);
+            case ArchiveFormat.EVENT_TYPE:
+                return dictionary(ArchivedEvent::eventType);
+            case ArchiveFormat.RECOMMENDATION_ID:
+                return nullableLongs(ArchivedEvent::recommendationId);
+            case ArchiveFormat.SEARCH_QUERY:
+                return dictionary(ArchivedEvent::searchQuery);
+            case ArchiveFormat.USER_AGENT:
+                return dictionary(ArchivedEvent::userAgent);
+            case ArchiveFormat.IP_ADDRESS:
+                return dictionary(ArchivedEvent::ipAddress);
+            case ArchiveFormat.REFERRER:
+                return dictionary(ArchivedEvent::referrer);
+            case ArchiveFormat.SESSION_ID:
+                return dictionary(ArchivedEvent::sessionId);
+            case ArchiveFormat.USER_ID:
+                return nullableLongs(ArchivedEvent::userId);
+            default:
+                throw new IllegalArgumentException("Unknown column " + column);
+        }
+    }
+
+    private byte[] deltas(Function<ArchivedEvent, Long> value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long previous = 0;
+        for (ArchivedEvent event : group) {
+            long current = value.apply(event);
+            ArchiveFormat.writeVarLong(out, ArchiveFormat.zigZag(current - previous));
+            previous = current;
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] nullableLongs(Function<ArchivedEvent, Long> value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ArchivedEvent event : group) {
+            Long current = value.apply(event);
+            ArchiveFormat.writeVarLong(out, current != null ? current + 1 : 0);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] dictionary(Function<ArchivedEvent, String> value) {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        ByteArrayOutputStream indexes = new ByteArrayOutputStream();
+        for (ArchivedEvent event : group) {
+            String current = value.apply(event);
+            if (current == null) {
+                ArchiveFormat.writeVarLong(indexes, 0);
+                continue;
+            }
+            Integer code = codes.get(current);
+            if (code == null) {
+                entries.add(current);
+                code = entries.size();
+                codes.put(current, code);
+            }
+            ArchiveFormat.writeVarLong(indexes, code);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveFormat.writeVarLong(out, entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            ArchiveFormat.writeVarLong(out, bytes.length);
+            out.writeBytes(bytes);
+        }
+        out.writeBytes(indexes.toByteArray());
+        return out.toByteArray();
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!group.isEmpty()) {
+                flushGroup();
+            }
+            long directoryOffset = position;
+            write(ByteBuffer.wrap(directory.toByteArray()));
+            write(ByteBuffer.allocate(ArchiveFormat.TRAILER_BYTES)
+                    .putLong(directoryOffset)
+                    .putInt(groupCount)
+                    .putInt(ArchiveFormat.MAGIC)
+                    .flip());
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+}
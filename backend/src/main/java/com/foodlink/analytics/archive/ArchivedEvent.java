@@ -0,0 +1,16 @@
+package com.foodlink.analytics.archive;
+
+// One analytics_events row as stored in an archive segment; createdAtMillis is the row's
+// created_at wall-clock time as epoch millis at UTC offset, matching how it was stored
+record ArchivedEvent(long id,
+                     Long creatorId,
+                     long createdAtMillis,
+                     String eventType,
+                     Long recommendationId,
+                     String searchQuery,
+                     String userAgent,
+                     String ipAddress,
+                     String referrer,
+                     String sessionId,
+                     Long userId) {
+}
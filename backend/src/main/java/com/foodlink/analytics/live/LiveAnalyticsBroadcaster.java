@@ -0,0 +1,254 @@
+package com.foodlink.analytics.live;
+
+import com.foodlink.analytics.AnalyticsEventObserver;
+import com.foodlink.analytics.IngestedEvent;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import com.foodlink.dto.response.LiveAnalyticsFrame;
+import com.foodlink.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Pushes live analytics to creator dashboards over SSE. Ingested events for creators with an
+// open stream are summed per (recommendation, event type) and sent as one frame per second.
+// Frames carry only the events ingested on this node: behind a load balancer a dashboard sees
+// its own node's share live, and the full counts from the rollups when it reloads.
+// Idle connections are parked async requests, not threads; a small sender pool does the writes,
+// and each subscriber has a bounded frame buffer so a slow client is dropped, not waited on.
+// A send blocked past the write timeout cannot be aborted from outside (the emitter is locked
+// by the blocked send), so the watchdog drops that subscriber and lends the pool a replacement
+// thread until the send returns.
+@Slf4j
+@Component
+public class LiveAnalyticsBroadcaster implements AnalyticsEventObserver {
+
+    private record DeltaKey(Long recommendationId, AnalyticsEvent.EventType eventType) {
+    }
+
+    private final Map<Long, Set<LiveSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final int senderThreads;
+    private final int maxExtraSenders;
+    private final AtomicInteger stuckSenders = new AtomicInteger();
+    private final int maxSubscribers;
+    private final int bufferFrames;
+    private final long timeoutMs;
+    private final long writeTimeoutMs;
+    private final Counter droppedSlow;
+
+    // Guarded by this; swapped out whole when a frame is published
+    private Map<Long, Map<DeltaKey, Long>> pending = new HashMap<>();
+
+    public LiveAnalyticsBroadcaster(@Value("${app.analytics.live.max-subscribers:10000}") int maxSubscribers,
+                                    @Value("${app.analytics.live.buffer-frames:16}") int bufferFrames,
+                                    @Value("${app.analytics.live.timeout-ms:1800000}") long timeoutMs,
+                                    @Value("${app.analytics.live.sender-threads:2}") int senderThreads,
+                                    @Value("${app.analytics.live.write-timeout-ms:5000}") long writeTimeoutMs,
+                                    @Value("${app.analytics.live.max-extra-senders:8}") int maxExtraSenders,
+                                    MeterRegistry meterRegistry) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferFrames = bufferFrames;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.senderThreads = senderThreads;
+        this.maxExtraSenders = maxExtraSenders;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "live-analytics-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.droppedSlow = meterRegistry.counter("foodlink.analytics.live.dropped");
+        Gauge.builder("foodlink.analytics.live.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long creatorId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many live analytics connections, try again later");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        LiveSubscriber subscriber = new LiveSubscriber(creatorId, emitter, bufferFrames);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // compute, not computeIfAbsent + add: remove() may be dropping the same creator's empty set concurrently
+        subscribers.compute(creatorId, (id, watching) -> {
+            Set<LiveSubscriber> set = watching != null ? watching : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+
+        offer(subscriber, () -> SseEmitter.event().reconnectTime(3000).comment("connected"));
+        return emitter;
+    }
+
+    @Override
+    public synchronized void onEvents(List<IngestedEvent> events) {
+        for (IngestedEvent event : events) {
+            // Only creators someone is watching; everything else would pile up unread
+            if (event.getCreatorId() != null && subscribers.containsKey(event.getCreatorId())) {
+                pending.computeIfAbsent(event.getCreatorId(), id -> new HashMap<>())
+                        .merge(new DeltaKey(event.getRecommendationId(), event.getEventType()), 1L, Long::sum);
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.analytics.live.frame-interval-ms:1000}")
+    public void publishFrames() {
+        Map<Long, Map<DeltaKey, Long>> publishing;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            publishing = pending;
+            pending = new HashMap<>();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        publishing.forEach((creatorId, deltas) -> {
+            Set<LiveSubscriber> watching = subscribers.get(creatorId);
+            if (watching == null) {
+                return;
+            }
+            List<LiveAnalyticsFrame.Delta> frameDeltas = new ArrayList<>(deltas.size());
+            deltas.forEach((key, count) -> frameDeltas.add(LiveAnalyticsFrame.Delta.builder()
+                    .recommendationId(key.recommendationId())
+                    .eventType(key.eventType())
+                    .count(count)
+                    .build()));
+            LiveAnalyticsFrame frame = LiveAnalyticsFrame.builder()
+                    .timestamp(now)
+                    .deltas(frameDeltas)
+                    .build();
+            for (LiveSubscriber subscriber : watching) {
+                offer(subscriber, () -> SseEmitter.event().name("delta").data(frame));
+            }
+        });
+    }
+
+    // Keeps idle streams from being cut by proxies and notices clients that went away
+    @Scheduled(fixedRateString = "${app.analytics.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(watching -> watching.forEach(
+                subscriber -> offer(subscriber, () -> SseEmitter.event().comment("ping"))));
+    }
+
+    @Scheduled(fixedRateString = "${app.analytics.live.watchdog-interval-ms:1000}")
+    public void dropStuckSenders() {
+        long now = System.currentTimeMillis();
+        subscribers.values().forEach(watching -> watching.forEach(subscriber -> {
+            if (subscriber.markStuck(now, writeTimeoutMs)) {
+                droppedSlow.increment();
+                remove(subscriber);
+                stuckSenders.incrementAndGet();
+                resizeSenders();
+            }
+        }));
+    }
+
+    // SseEventBuilder is single-use, so each subscriber gets its own from the supplier
+    private void offer(LiveSubscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (!subscriber.enqueue(event.get())) {
+            droppedSlow.increment();
+            disconnect(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(LiveSubscriber subscriber) {
+        if (subscriber.tryStartDrain()) {
+            senders.execute(() -> {
+                try {
+                    subscriber.drain(writeTimeoutMs);
+                } catch (Exception e) {
+                    disconnect(subscriber);
+                    return;
+                } finally {
+                    if (subscriber.releaseStuckSender()) {
+                        stuckSenders.decrementAndGet();
+                        resizeSenders();
+                        completeWithTimeout(subscriber);
+                    }
+                }
+                // A frame may have arrived after the queue looked empty but before the drain flag cleared
+                if (subscriber.hasPending()) {
+                    scheduleDrain(subscriber);
+                }
+            });
+        }
+    }
+
+    private void disconnect(LiveSubscriber subscriber) {
+        if (remove(subscriber)) {
+            try {
+                subscriber.emitter().complete();
+            } catch (Exception e) {
+                log.debug("Error closing live analytics stream: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Already removed by the watchdog, so disconnect() would not complete the emitter
+    private void completeWithTimeout(LiveSubscriber subscriber) {
+        try {
+            subscriber.emitter().completeWithError(new IOException("Live analytics write timed out"));
+        } catch (Exception e) {
+            log.debug("Error closing live analytics stream: {}", e.getMessage());
+        }
+    }
+
+    // One extra thread per blocked send, up to max-extra-senders; the maximum is raised before
+    // the core size and lowered after it, since the core size may never exceed it
+    private synchronized void resizeSenders() {
+        int size = senderThreads + Math.min(stuckSenders.get(), maxExtraSenders);
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else if (size < senders.getCorePoolSize()) {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private boolean remove(LiveSubscriber subscriber) {
+        if (!subscriber.close()) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.creatorId(), (id, watching) -> {
+            watching.remove(subscriber);
+            return watching.isEmpty() ? null : watching;
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(watching -> watching.forEach(this::disconnect));
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,91 @@
+package com.foodlink.analytics.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One dashboard connection. Frames queue in a small bounded buffer and are written by the
+// shared sender pool; a subscriber whose buffer fills up, or whose client takes longer than
+// the write timeout to accept a frame, is too slow and gets disconnected.
+final class LiveSubscriber {
+
+    private final Long creatorId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean holdsStuckSender = new AtomicBoolean();
+    // Start of the send in progress in epoch millis, 0 while not sending
+    private volatile long sendingSince;
+
+    LiveSubscriber(Long creatorId, SseEmitter emitter, int bufferSize) {
+        this.creatorId = creatorId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    Long creatorId() {
+        return creatorId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    // False when the buffer is full; the caller drops the subscriber
+    boolean enqueue(SseEmitter.SseEventBuilder event) {
+        return !closed.get() && buffer.offer(event);
+    }
+
+    // Only one sender thread drains a subscriber at a time, so frames stay in order
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void drain(long writeTimeoutMs) throws IOException {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                long started = System.currentTimeMillis();
+                sendingSince = started;
+                try {
+                    emitter.send(event);
+                } finally {
+                    sendingSince = 0;
+                }
+                if (System.currentTimeMillis() - started > writeTimeoutMs) {
+                    throw new IOException("Client took over " + writeTimeoutMs + " ms to accept a frame");
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    // True once, for the first check that finds a send blocked past the timeout
+    boolean markStuck(long now, long writeTimeoutMs) {
+        long since = sendingSince;
+        return since != 0 && now - since > writeTimeoutMs && holdsStuckSender.compareAndSet(false, true);
+    }
+
+    // True once, when the drain that was marked stuck finally returns
+    boolean releaseStuckSender() {
+        return holdsStuckSender.compareAndSet(true, false);
+    }
+
+    boolean hasPending() {
+        return !buffer.isEmpty();
+    }
+
+    // True only for the call that actually closed it
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        buffer.clear();
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package com.foodlink.analytics.spool;
+
+import com.foodlink.analytics.IngestedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Append-only, segment-based spool of analytics events on local disk. AnalyticsEventWriter
+// appends; AnalyticsSpoolReplayer reads from the acknowledged position, writes to Postgres and
+// acknowledges. Fully acknowledged segments are deleted. The acknowledged position is kept in a
+// small checkpoint file, so a restart resumes where the last successful write left off.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.analytics.spool.enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyticsSpool {
+
+    // Where the replayer is: segment sequence and byte offset of the next unacknowledged record
+    public record Position(long segment, int offset) {
+    }
+
+    public record Batch(List<IngestedEvent> events, Position end) {
+    }
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final boolean forceOnAppend;
+    private final ConcurrentSkipListMap<Long, SpoolSegment> segments = new ConcurrentSkipListMap<>();
+    private final Counter spooled;
+    private final Counter rejected;
+
+    private volatile Position acknowledged;
+    private SpoolSegment active;
+
+    public AnalyticsSpool(@Value("${app.analytics.spool.dir:./data/analytics-spool}") String directory,
+                          @Value("${app.analytics.spool.segment-size-bytes:16777216}") int segmentSize,
+                          @Value("${app.analytics.spool.max-bytes:1073741824}") long maxBytes,
+                          @Value("${app.analytics.spool.force-on-append:false}") boolean forceOnAppend,
+                          MeterRegistry meterRegistry) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.forceOnAppend = forceOnAppend;
+        this.spooled = meterRegistry.counter("foodlink.analytics.spool.appended");
+        this.rejected = meterRegistry.counter("foodlink.analytics.spool.rejected");
+        Gauge.builder("foodlink.analytics.spool.segments", segments, Map::size).register(meterRegistry);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                    continue;
+                }
+                long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                try {
+                    segments.put(sequence, SpoolSegment.open(path, sequence));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable spool segment {}: {}", path, e.getMessage());
+                    Files.move(path, path.resolveSibling(name + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+
+        Position checkpoint = readCheckpoint();
+        // Never append into a recovered segment; always start a fresh one after the last
+        long next = !segments.isEmpty() ? segments.lastKey() + 1 : checkpoint != null ? checkpoint.segment() + 1 : 0;
+        active = SpoolSegment.create(segmentPath(next), next, segmentSize);
+        segments.put(next, active);
+
+        SpoolSegment first = segments.firstEntry().getValue();
+        if (checkpoint == null || checkpoint.segment() < first.sequence()) {
+            checkpoint = new Position(first.sequence(), SpoolSegment.HEADER_BYTES);
+        }
+        acknowledged = checkpoint;
+        deleteAcknowledgedSegments();
+
+        long pending = segments.values().stream().filter(segment -> segment != active).count();
+        if (pending > 0) {
+            log.info("Recovered {} analytics spool segments to replay from {}", pending, acknowledged);
+        }
+    }
+
+    // Called from the single writer thread; false if the spool has hit max-bytes and the batch was not written.
+    // All or nothing: whatever is in the spool gets replayed, so a batch the caller then writes directly
+    // must not be partly spooled. Space and segments are settled before the first record goes in.
+    public synchronized boolean append(List<IngestedEvent> events) {
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        for (IngestedEvent event : events) {
+            payloads.add(IngestedEventCodec.encode(event));
+        }
+        int rolls = rollsNeeded(payloads);
+        if (rolls < 0 || rolls > 0 && (long) (segments.size() + rolls - 1) * segmentSize >= maxBytes) {
+            rejected.increment(events.size());
+            return false;
+        }
+        List<SpoolSegment> fresh = createSegments(rolls);
+
+        List<SpoolSegment> toForce = new ArrayList<>();
+        int nextFresh = 0;
+        for (byte[] payload : payloads) {
+            if (!active.fits(payload.length)) {
+                toForce.add(active);
+                active = fresh.get(nextFresh++);
+                segments.put(active.sequence(), active);
+            }
+            active.append(payload);
+        }
+        if (forceOnAppend) {
+            toForce.add(active);
+        }
+        // The records are readable already; a failed force only weakens durability across a crash
+        for (SpoolSegment segment : toForce) {
+            try {
+                segment.force();
+            } catch (UncheckedIOException e) {
+                log.warn("Failed to force spool segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+        spooled.increment(events.size());
+        notifyAll();
+        return true;
+    }
+
+    // New segments the payloads spill into, or -1 if one of them could never fit in a segment
+    private int rollsNeeded(List<byte[]> payloads) {
+        int position = active.writePosition();
+        int capacity = active.capacity();
+        int rolls = 0;
+        for (byte[] payload : payloads) {
+            int bytes = SpoolSegment.RECORD_OVERHEAD + payload.length;
+            if (SpoolSegment.HEADER_BYTES + bytes > segmentSize) {
+                return -1;
+            }
+            if (position + bytes > capacity) {
+                rolls++;
+                position = SpoolSegment.HEADER_BYTES;
+                capacity = segmentSize;
+            }
+            position += bytes;
+        }
+        return rolls;
+    }
+
+    // Kept out of segments until the batch rolls into them, so the replayer never skips past the active one
+    private List<SpoolSegment> createSegments(int count) {
+        List<SpoolSegment> created = new ArrayList<>(count);
+        try {
+            for (int i = 1; i <= count; i++) {
+                long sequence = active.sequence() + i;
+                created.add(SpoolSegment.create(segmentPath(sequence), sequence, segmentSize));
+            }
+            return created;
+        } catch (IOException e) {
+            for (SpoolSegment segment : created) {
+                try {
+                    Files.deleteIfExists(segment.path());
+                } catch (IOException deleteFailure) {
+                    log.warn("Failed to delete spool segment {}: {}", segment.path(), deleteFailure.getMessage());
+                }
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Reads up to maxEvents from the acknowledged position without moving it
+    public Batch read(int maxEvents) {
+        List<IngestedEvent> events = new ArrayList<>();
+        Position position = acknowledged;
+        while (events.size() < maxEvents) {
+            SpoolSegment segment = segments.get(position.segment());
+            if (segment == null) {
+                break;
+            }
+            ByteBuffer record = segment.read(position.offset());
+            if (record == null) {
+                // End of a sealed segment: continue with the next one
+                if (segments.higherKey(segment.sequence()) != null && position.offset() >= segment.writePosition()) {
+                    position = new Position(segments.higherKey(segment.sequence()), SpoolSegment.HEADER_BYTES);
+                    continue;
+                }
+                break;
+            }
+            int length = record.remaining();
+            events.add(IngestedEventCodec.decode(record));
+            position = new Position(position.segment(), position.offset() + SpoolSegment.RECORD_OVERHEAD + length);
+        }
+        return new Batch(events, position);
+    }
+
+    // Blocks up to timeoutMs for new appends when there is nothing left to read
+    public synchronized void awaitAppend(long timeoutMs) throws InterruptedException {
+        wait(timeoutMs);
+    }
+
+    public void acknowledge(Position position) {
+        acknowledged = position;
+        try {
+            writeCheckpoint(position);
+        } catch (IOException e) {
+            // The events are already in Postgres; a stale checkpoint only means replaying them again after a restart
+            log.warn("Failed to write analytics spool checkpoint: {}", e.getMessage());
+        }
+        deleteAcknowledgedSegments();
+    }
+
+    public Position acknowledged() {
+        return acknowledged;
+    }
+
+    private synchronized void deleteAcknowledgedSegments() {
+        for (Long sequence : new ArrayList<>(segments.headMap(acknowledged.segment()).keySet())) {
+            SpoolSegment segment = segments.remove(sequence);
+            try {
+                Files.deleteIfExists(segment.path());
+            } catch (IOException e) {
+                log.warn("Failed to delete spool segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < 12) {
+            return null;
+        }
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    // Written to a temp file and renamed, so a crash leaves either the old or the new checkpoint
+    private void writeCheckpoint(Position position) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset()).array());
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,178 @@
+package com.foodlink.analytics.spool;
+
+import com.foodlink.analytics.AnalyticsEventPersister;
+import com.foodlink.analytics.IngestedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Drains the spool into Postgres in order and acknowledges each batch once it is written.
+// While the database is unreachable events simply accumulate on disk and are retried every
+// retry-after-ms. Delivery is at-least-once: a crash between the insert and the acknowledgement
+// replays that batch on the next start. A batch the database rejects (e.g. an event dated
+// outside every partition) is split until the rejected events are isolated, and only those are
+// discarded; losing the database midway through leaves the batch for retry, so its written
+// halves are written again like after a crash.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.analytics.spool.enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyticsSpoolReplayer implements SmartLifecycle {
+
+    private static final long SHUTDOWN_DRAIN_MS = 10_000;
+
+    private final AnalyticsSpool spool;
+    private final AnalyticsEventPersister persister;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long retryAfterMs;
+    private final Counter replayed;
+    private final Counter discarded;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AnalyticsSpoolReplayer(AnalyticsSpool spool,
+                                  AnalyticsEventPersister persister,
+                                  @Value("${app.analytics.ingest.batch-size:500}") int batchSize,
+                                  @Value("${app.analytics.ingest.flush-interval-ms:200}") long pollIntervalMs,
+                                  @Value("${app.analytics.spool.retry-after-ms:5000}") long retryAfterMs,
+                                  MeterRegistry meterRegistry) {
+        this.spool = spool;
+        this.persister = persister;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retryAfterMs = retryAfterMs;
+        this.replayed = meterRegistry.counter("foodlink.analytics.spool.replayed");
+        this.discarded = meterRegistry.counter("foodlink.analytics.spool.discarded");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "analytics-spool-replayer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Stops after AnalyticsEventWriter, so the writer's final batch is in the spool; whatever
+    // cannot be written in time stays on disk for the next start
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(SHUTDOWN_DRAIN_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long deadline = System.currentTimeMillis() + SHUTDOWN_DRAIN_MS;
+        while (System.currentTimeMillis() < deadline) {
+            ReplayResult result = replayBatch();
+            if (result != ReplayResult.WRITTEN) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 4608;
+    }
+
+    private enum ReplayResult {
+        WRITTEN, EMPTY, RETRY
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                switch (replayBatch()) {
+                    case EMPTY -> spool.awaitAppend(pollIntervalMs);
+                    case RETRY -> Thread.sleep(retryAfterMs);
+                    default -> {
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private ReplayResult replayBatch() {
+        AnalyticsSpool.Batch batch = spool.read(batchSize);
+        if (batch.events().isEmpty()) {
+            if (!batch.end().equals(spool.acknowledged())) {
+                // Skipped past the end of a sealed segment; acknowledging lets it be deleted
+                spool.acknowledge(batch.end());
+            }
+            return ReplayResult.EMPTY;
+        }
+        try {
+            persister.persist(batch.events());
+            replayed.increment(batch.events().size());
+        } catch (NonTransientDataAccessResourceException | TransientDataAccessException | RecoverableDataAccessException e) {
+            log.warn("Database unavailable, keeping {} spooled analytics events for retry: {}",
+                    batch.events().size(), e.getMessage());
+            return ReplayResult.RETRY;
+        } catch (DataAccessException e) {
+            log.warn("Database rejected a batch of {} spooled analytics events, splitting it: {}",
+                    batch.events().size(), e.getMessage());
+            int rejected = persistAccepted(batch.events());
+            if (rejected < 0) {
+                return ReplayResult.RETRY;
+            }
+            // The rows themselves are rejected; retrying would block the spool forever
+            discarded.increment(rejected);
+            log.warn("Discarded {} spooled analytics events rejected by the database", rejected);
+        } catch (RuntimeException e) {
+            log.warn("Failed to replay {} spooled analytics events, will retry: {}", batch.events().size(), e.getMessage());
+            return ReplayResult.RETRY;
+        }
+        spool.acknowledge(batch.end());
+        return ReplayResult.WRITTEN;
+    }
+
+    // Writes both halves of a rejected batch, splitting further whichever is rejected again.
+    // Returns how many single events were rejected, or -1 once a failure is not about the rows.
+    private int persistAccepted(List<IngestedEvent> events) {
+        int middle = events.size() / 2;
+        int rejected = 0;
+        for (List<IngestedEvent> half : List.of(events.subList(0, middle), events.subList(middle, events.size()))) {
+            if (half.isEmpty()) {
+                continue;
+            }
+            try {
+                persister.persist(half);
+                replayed.increment(half.size());
+            } catch (NonTransientDataAccessResourceException | TransientDataAccessException | RecoverableDataAccessException e) {
+                return -1;
+            } catch (DataAccessException e) {
+                int rejectedInHalf = half.size() == 1 ? 1 : persistAccepted(half);
+                if (rejectedInHalf < 0) {
+                    return -1;
+                }
+                rejected += rejectedInHalf;
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        }
+        return rejected;
+    }
+}
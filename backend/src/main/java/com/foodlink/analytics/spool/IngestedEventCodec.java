@@ -0,0 +1,136 @@
+package com.foodlink.analytics.spool;
+
+import com.foodlink.analytics.IngestedEvent;
+import com.foodlink.domain.entity.AnalyticsEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+// Binary layout of one spooled event: event type, timestamp, a presence bitmask, then only
+// the fields that are set. Strings are length-prefixed UTF-8 and capped so a record always fits.
+final class IngestedEventCodec {
+
+    static final int MAX_STRING_CHARS = 8192;
+
+    private static final AnalyticsEvent.EventType[] EVENT_TYPES = AnalyticsEvent.EventType.values();
+
+    private static final int HAS_CREATOR_SLUG = 1;
+    private static final int HAS_CREATOR_ID = 1 << 1;
+    private static final int HAS_RECOMMENDATION_ID = 1 << 2;
+    private static final int HAS_SEARCH_QUERY = 1 << 3;
+    private static final int HAS_USER_AGENT = 1 << 4;
+    private static final int HAS_IP_ADDRESS = 1 << 5;
+    private static final int HAS_REFERRER = 1 << 6;
+    private static final int HAS_SESSION_ID = 1 << 7;
+
+    private IngestedEventCodec() {
+    }
+
+    static byte[] encode(IngestedEvent event) {
+        byte[] creatorSlug = utf8(event.getCreatorSlug());
+        byte[] searchQuery = utf8(event.getSearchQuery());
+        byte[] userAgent = utf8(event.getUserAgent());
+        byte[] ipAddress = utf8(event.getIpAddress());
+        byte[] referrer = utf8(event.getReferrer());
+
+        int flags = (creatorSlug != null ? HAS_CREATOR_SLUG : 0)
+                | (event.getCreatorId() != null ? HAS_CREATOR_ID : 0)
+                | (event.getRecommendationId() != null ? HAS_RECOMMENDATION_ID : 0)
+                | (searchQuery != null ? HAS_SEARCH_QUERY : 0)
+                | (userAgent != null ? HAS_USER_AGENT : 0)
+                | (ipAddress != null ? HAS_IP_ADDRESS : 0)
+                | (referrer != null ? HAS_REFERRER : 0)
+                | (event.getSessionId() != null ? HAS_SESSION_ID : 0);
+
+        int size = 1 + 12 + 1
+                + sizeOf(creatorSlug) + sizeOf(searchQuery) + sizeOf(userAgent) + sizeOf(ipAddress) + sizeOf(referrer)
+                + (event.getCreatorId() != null ? 8 : 0)
+                + (event.getRecommendationId() != null ? 8 : 0)
+                + (event.getSessionId() != null ? 16 : 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) event.getEventType().ordinal());
+        buffer.putLong(event.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(event.getCreatedAt().getNano());
+        buffer.put((byte) flags);
+        putString(buffer, creatorSlug);
+        if (event.getCreatorId() != null) {
+            buffer.putLong(event.getCreatorId());
+        }
+        if (event.getRecommendationId() != null) {
+            buffer.putLong(event.getRecommendationId());
+        }
+        putString(buffer, searchQuery);
+        putString(buffer, userAgent);
+        putString(buffer, ipAddress);
+        putString(buffer, referrer);
+        if (event.getSessionId() != null) {
+            buffer.putLong(event.getSessionId().getMostSignificantBits());
+            buffer.putLong(event.getSessionId().getLeastSignificantBits());
+        }
+        return buffer.array();
+    }
+
+    static IngestedEvent decode(ByteBuffer buffer) {
+        AnalyticsEvent.EventType eventType = EVENT_TYPES[buffer.get()];
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        int flags = buffer.get() & 0xFF;
+
+        IngestedEvent.IngestedEventBuilder event = IngestedEvent.builder()
+                .eventType(eventType)
+                .createdAt(createdAt);
+        if ((flags & HAS_CREATOR_SLUG) != 0) {
+            event.creatorSlug(getString(buffer));
+        }
+        if ((flags & HAS_CREATOR_ID) != 0) {
+            event.creatorId(buffer.getLong());
+        }
+        if ((flags & HAS_RECOMMENDATION_ID) != 0) {
+            event.recommendationId(buffer.getLong());
+        }
+        if ((flags & HAS_SEARCH_QUERY) != 0) {
+            event.searchQuery(getString(buffer));
+        }
+        if ((flags & HAS_USER_AGENT) != 0) {
+            event.userAgent(getString(buffer));
+        }
+        if ((flags & HAS_IP_ADDRESS) != 0) {
+            event.ipAddress(getString(buffer));
+        }
+        if ((flags & HAS_REFERRER) != 0) {
+            event.referrer(getString(buffer));
+        }
+        if ((flags & HAS_SESSION_ID) != 0) {
+            event.sessionId(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        return event.build();
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        String capped = value.length() > MAX_STRING_CHARS ? value.substring(0, MAX_STRING_CHARS) : value;
+        return capped.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return bytes != null ? 2 + bytes.length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes != null) {
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
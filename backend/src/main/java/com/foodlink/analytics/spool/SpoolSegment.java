@@ -0,0 +1,120 @@
+package com.foodlink.analytics.spool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// One fixed-size, memory-mapped spool file. Records are [int length][int crc32][payload]; a
+// zero length marks the end. Single writer; readers only look below the published write position.
+final class SpoolSegment {
+
+    static final int MAGIC = 0x464C5350; // "FLSP"
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_OVERHEAD = 8;
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private volatile int writePosition;
+
+    private SpoolSegment(long sequence, Path path, MappedByteBuffer buffer, int writePosition) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+    }
+
+    static SpoolSegment create(Path path, long sequence, int size) throws IOException {
+        MappedByteBuffer buffer = map(path, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, 1);
+        return new SpoolSegment(sequence, path, buffer, HEADER_BYTES);
+    }
+
+    // Crash recovery: walk the records and stop at the first one that is missing, truncated or
+    // fails its checksum. Anything after that point was never fully written.
+    static SpoolSegment open(Path path, long sequence) throws IOException {
+        MappedByteBuffer buffer = map(path, (int) Files.size(path));
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a spool segment: " + path);
+        }
+        int position = HEADER_BYTES;
+        while (readRecord(buffer, position) != null) {
+            position += RECORD_OVERHEAD + buffer.getInt(position);
+        }
+        return new SpoolSegment(sequence, path, buffer, position);
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    boolean fits(int payloadBytes) {
+        return writePosition + RECORD_OVERHEAD + payloadBytes <= buffer.capacity();
+    }
+
+    // Payload and checksum go in before the length, so a torn write never looks like a record
+    void append(byte[] payload) {
+        int position = writePosition;
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.put(position + RECORD_OVERHEAD, payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        writePosition = position + RECORD_OVERHEAD + payload.length;
+    }
+
+    // Payload of the record at position, or null if there is no complete record there
+    ByteBuffer read(int position) {
+        if (position >= writePosition) {
+            return null;
+        }
+        return readRecord(buffer, position);
+    }
+
+    private static ByteBuffer readRecord(ByteBuffer buffer, int position) {
+        if (position + RECORD_OVERHEAD > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + RECORD_OVERHEAD + length > buffer.capacity()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(position + RECORD_OVERHEAD, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        return ByteBuffer.wrap(payload);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+}
@@ -0,0 +1,32 @@
+package com.foodlink.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    public static void register(MeterRegistry registry, String name, WeightedLruCache<?, ?> cache) {
+        FunctionCounter.builder("foodlink.cache.hits", cache, WeightedLruCache::hits)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("foodlink.cache.misses", cache, WeightedLruCache::misses)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("foodlink.cache.evictions", cache, WeightedLruCache::evictions)
+                .tag("cache", name).register(registry);
+        Gauge.builder("foodlink.cache.entries", cache, WeightedLruCache::size)
+                .tag("cache", name).register(registry);
+        Gauge.builder("foodlink.cache.weight.bytes", cache, WeightedLruCache::weight)
+                .tag("cache", name).register(registry);
+        Gauge.builder("foodlink.cache.hit.ratio", cache, CacheMetrics::hitRatio)
+                .tag("cache", name).register(registry);
+    }
+
+    private static double hitRatio(WeightedLruCache<?, ?> cache) {
+        long hits = cache.hits();
+        long lookups = hits + cache.misses();
+        return lookups > 0 ? (double) hits / lookups : 0.0;
+    }
+}
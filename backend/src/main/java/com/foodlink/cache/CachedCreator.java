@@ -0,0 +1,44 @@
+package com.foodlink.cache;
+
+import com.foodlink.domain.entity.Creator;
+
+import java.time.ZoneId;
+
+// Immutable copy of the creator fields read on hot paths; safe to share across threads and
+// to store in the shared tier. The password hash is deliberately left out; contentModifiedAt
+// is in epoch millis.
+public record CachedCreator(Long id,
+                            String username,
+                            String email,
+                            String displayName,
+                            String bio,
+                            String profileImageUrl,
+                            String instagramHandle,
+                            String slug,
+                            String themeColor,
+                            Integer totalRecommendations,
+                            Integer totalPageViews,
+                            Creator.CreatorStatus status,
+                            Long contentVersion,
+                            Long contentModifiedAt) {
+
+    public static CachedCreator from(Creator creator) {
+        return new CachedCreator(
+                creator.getId(),
+                creator.getUsername(),
+                creator.getEmail(),
+                creator.getDisplayName(),
+                creator.getBio(),
+                creator.getProfileImageUrl(),
+                creator.getInstagramHandle(),
+                creator.getSlug(),
+                creator.getThemeColor(),
+                creator.getTotalRecommendations(),
+                creator.getTotalPageViews(),
+                creator.getStatus(),
+                creator.getContentVersion(),
+                creator.getContentModifiedAt() != null
+                        ? creator.getContentModifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : null);
+    }
+}
@@ -0,0 +1,196 @@
+package com.foodlink.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodlink.domain.event.CreatorProfileChangedEvent;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import com.foodlink.domain.repository.CreatorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Creator lookups by slug and id: a short-TTL local tier per node in front of the shared tier,
+// in front of Postgres. Concurrent misses for the same key share one load. Invalidation clears
+// this node and the shared tier; other nodes see the change when their local TTL runs out.
+@Slf4j
+@Component
+public class CreatorCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 320;
+
+    private final CreatorRepository creatorRepository;
+    private final SharedCacheTier sharedTier;
+    private final ObjectMapper objectMapper;
+    private final WeightedLruCache<String, Entry> local;
+    private final SingleFlight<String, CachedCreator> loads = new SingleFlight<>();
+    // Loads running on this node by key; an invalidation flags the ones it overlaps so they do not store
+    private final Map<String, AtomicBoolean> loading = new ConcurrentHashMap<>();
+    private final long localTtlMillis;
+    private final Duration sharedTtl;
+
+    public CreatorCache(CreatorRepository creatorRepository,
+                        SharedCacheTier sharedTier,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.cache.creators.max-bytes:8388608}") long maxBytes,
+                        @Value("${app.cache.creators.local-ttl-seconds:10}") long localTtlSeconds,
+                        @Value("${app.cache.creators.shared-ttl-seconds:300}") long sharedTtlSeconds) {
+        this.creatorRepository = creatorRepository;
+        this.sharedTier = sharedTier;
+        this.objectMapper = objectMapper;
+        this.local = new WeightedLruCache<>(maxBytes, CreatorCache::estimateBytes);
+        this.localTtlMillis = localTtlSeconds * 1000;
+        this.sharedTtl = Duration.ofSeconds(sharedTtlSeconds);
+        CacheMetrics.register(meterRegistry, "creators", local);
+    }
+
+    public Optional<CachedCreator> findBySlug(String slug) {
+        return find(slugKey(slug), () -> creatorRepository.findBySlug(slug).map(CachedCreator::from).orElse(null));
+    }
+
+    public Optional<CachedCreator> findById(Long id) {
+        return find(idKey(id), () -> creatorRepository.findById(id).map(CachedCreator::from).orElse(null));
+    }
+
+    // Ids for the slugs already cached on this node or in the shared tier; never loads from Postgres
+    public Map<String, Long> cachedIds(Collection<String> slugs) {
+        Map<String, Long> ids = new HashMap<>();
+        for (String slug : slugs) {
+            CachedCreator creator = cached(slugKey(slug));
+            if (creator != null) {
+                ids.put(slug, creator.id());
+            }
+        }
+        return ids;
+    }
+
+    public void invalidate(Long id, String slug) {
+        if (slug == null) {
+            CachedCreator known = cached(idKey(id));
+            slug = known != null ? known.slug() : null;
+        }
+        if (slug == null) {
+            // A load by slug could store this creator under its id too, and the slug is unknown
+            loading.values().forEach(load -> load.set(true));
+        }
+        evict(idKey(id));
+        if (slug != null) {
+            evict(slugKey(slug));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRecommendationCreated(RecommendationCreatedEvent event) {
+        invalidate(event.getCreatorId(), event.getCreatorSlug());
+    }
+
+    @TransactionalEventListener
+    public void onCreatorProfileChanged(CreatorProfileChangedEvent event) {
+        invalidate(event.getCreatorId(), event.getCreatorSlug());
+    }
+
+    private Optional<CachedCreator> find(String key, Supplier<CachedCreator> loader) {
+        Entry entry = local.get(key);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(entry.creator());
+        }
+        return Optional.ofNullable(loads.load(key, () -> {
+            AtomicBoolean invalidated = new AtomicBoolean();
+            loading.put(key, invalidated);
+            try {
+                CachedCreator creator = readShared(key);
+                boolean fromShared = creator != null;
+                if (creator == null) {
+                    creator = loader.get();
+                }
+                if (creator != null && !invalidated.get()) {
+                    store(creator, !fromShared);
+                }
+                return creator;
+            } finally {
+                loading.remove(key, invalidated);
+            }
+        }));
+    }
+
+    private CachedCreator cached(String key) {
+        Entry entry = local.get(key);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            return entry.creator();
+        }
+        return readShared(key);
+    }
+
+    // Both keys point at the same copy so an id lookup after a slug lookup is a local hit
+    private void store(CachedCreator creator, boolean writeShared) {
+        Entry entry = new Entry(creator, System.currentTimeMillis() + localTtlMillis);
+        local.put(idKey(creator.id()), entry);
+        local.put(slugKey(creator.slug()), entry);
+        if (writeShared) {
+            try {
+                byte[] bytes = objectMapper.writeValueAsBytes(creator);
+                sharedTier.put(idKey(creator.id()), bytes, sharedTtl);
+                sharedTier.put(slugKey(creator.slug()), bytes, sharedTtl);
+            } catch (Exception e) {
+                log.warn("Could not write creator {} to the shared cache: {}", creator.id(), e.getMessage());
+            }
+        }
+    }
+
+    // The shared tier is an optimization: if it is down or holds garbage, fall through to Postgres
+    private CachedCreator readShared(String key) {
+        try {
+            byte[] bytes = sharedTier.get(key);
+            return bytes != null ? objectMapper.readValue(bytes, CachedCreator.class) : null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read {} from the shared cache: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void evict(String key) {
+        AtomicBoolean load = loading.get(key);
+        if (load != null) {
+            load.set(true);
+        }
+        local.remove(key);
+        try {
+            sharedTier.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} from the shared cache: {}", key, e.getMessage());
+        }
+    }
+
+    private static String idKey(Long id) {
+        return "creator:id:" + id;
+    }
+
+    private static String slugKey(String slug) {
+        return "creator:slug:" + slug;
+    }
+
+    private static long estimateBytes(Entry entry) {
+        CachedCreator creator = entry.creator();
+        return ENTRY_OVERHEAD_BYTES + 2L * (length(creator.username()) + length(creator.email())
+                + length(creator.displayName()) + length(creator.bio()) + length(creator.profileImageUrl())
+                + length(creator.instagramHandle()) + length(creator.slug()) + length(creator.themeColor()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private record Entry(CachedCreator creator, long expiresAt) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.foodlink.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Validators for the public creator endpoints, built from the creator's persisted content
+// version read through CreatorCache, so every node derives the same tag for the same content
+// and a matching If-None-Match is usually answered from the local tier without a query. A
+// change made on another node shows once the cached copy here expires (the local TTL). View
+// and click counters change without a version bump; the counter window rolls the tag so they
+// are at most that stale.
+@Component
+public class CreatorEtags {
+
+    private final CreatorCache creatorCache;
+    private final long counterWindowMillis;
+
+    public CreatorEtags(CreatorCache creatorCache,
+                        @Value("${app.http.etag.counter-window-seconds:60}") long counterWindowSeconds) {
+        this.creatorCache = creatorCache;
+        this.counterWindowMillis = Math.max(counterWindowSeconds, 1) * 1000;
+    }
+
+    // Read before the response is built: a bump during the load leaves the tag older than the body,
+    // which only costs the client one extra 200 on its next revalidation
+    public Validators of(String creatorSlug) {
+        long window = System.currentTimeMillis() / counterWindowMillis;
+        CachedCreator creator = creatorSlug != null ? creatorCache.findBySlug(creatorSlug).orElse(null) : null;
+        // An unknown slug gets a tag no registered creator can have, so a cached 404 never revalidates
+        long version = creator == null ? -1L : creator.contentVersion() != null ? creator.contentVersion() : 0L;
+        long modifiedAt = creator != null && creator.contentModifiedAt() != null ? creator.contentModifiedAt() : 0L;
+        String etag = "\"" + Long.toString(version, 36) + "-" + Long.toString(window, 36) + "\"";
+        return new Validators(etag, Math.max(modifiedAt, window * counterWindowMillis));
+    }
+
+    public record Validators(String etag, long lastModified) {
+
+        // Gzip bytes differ from the identity bytes, so they get a strong validator of their own
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
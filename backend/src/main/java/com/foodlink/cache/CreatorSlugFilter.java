@@ -0,0 +1,154 @@
+package com.foodlink.cache;
+
+import com.foodlink.domain.repository.CreatorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bloom filter of every creator slug, so links to creators that do not exist are answered
+// without a query. Built at startup, extended on registration, topped up with slugs registered
+// on other nodes every refresh interval, and rebuilt periodically, which also drops removed
+// slugs and resizes the filter as creators grow. Until the first build completes every slug
+// "might exist" and callers fall through to the database. A negative from a filter not topped up
+// within negative-max-age is checked again after a refresh, so a slug registered on another node
+// is not answered with a 404 for a whole refresh interval.
+@Slf4j
+@Component
+public class CreatorSlugFilter {
+
+    private final CreatorRepository creatorRepository;
+    private final double falsePositiveRate;
+    private final int minCapacity;
+    private final Counter negatives;
+    private final long refreshOverlapSeconds;
+    private final long negativeMaxAgeMillis;
+    private final ReentrantLock refreshing = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    // Slugs added while a rebuild is loading; replayed into the new filter before it is swapped in
+    private List<String> addedDuringRebuild;
+    private volatile LocalDateTime refreshedUpTo;
+
+    public CreatorSlugFilter(CreatorRepository creatorRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.creators.slug-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${app.creators.slug-filter.min-capacity:10000}") int minCapacity,
+                             @Value("${app.creators.slug-filter.refresh-overlap-seconds:60}") long refreshOverlapSeconds,
+                             @Value("${app.creators.slug-filter.negative-max-age-ms:1000}") long negativeMaxAgeMillis) {
+        this.creatorRepository = creatorRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.negatives = meterRegistry.counter("foodlink.creators.slug-filter.negatives");
+        this.refreshOverlapSeconds = refreshOverlapSeconds;
+        this.negativeMaxAgeMillis = negativeMaxAgeMillis;
+    }
+
+    public boolean mightExist(String slug) {
+        BloomFilter current = filter;
+        if (current == null || slug == null || current.mightContain(slug)) {
+            return true;
+        }
+        LocalDateTime upTo = refreshedUpTo;
+        if (upTo == null || upTo.plusNanos(negativeMaxAgeMillis * 1_000_000).isBefore(LocalDateTime.now())) {
+            // One request tops the filter up; the others, or a failed refresh, fall through to the database
+            if (!refreshing.tryLock()) {
+                return true;
+            }
+            try {
+                if (!topUp() || filter.mightContain(slug)) {
+                    return true;
+                }
+            } finally {
+                refreshing.unlock();
+            }
+        }
+        negatives.increment();
+        return false;
+    }
+
+    // Called before the registering transaction commits: a rollback only leaves a false positive
+    public void add(String slug) {
+        synchronized (this) {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(slug);
+            }
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(slug);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.creators.slug-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.creators.slug-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<String> slugs = creatorRepository.findAllSlugs();
+            // Headroom so registrations until the next rebuild keep the false-positive rate near target
+            BloomFilter next = BloomFilter.create(Math.max(2L * slugs.size(), minCapacity), falsePositiveRate);
+            slugs.forEach(next::put);
+            synchronized (this) {
+                addedDuringRebuild.forEach(next::put);
+                filter = next;
+                refreshedUpTo = startedAt;
+            }
+            log.info("Creator slug filter rebuilt with {} slugs ({} bits)", slugs.size(), next.bitCount());
+        } catch (Exception e) {
+            // Keep the previous filter (or none, which lets every slug through)
+            log.warn("Could not rebuild creator slug filter: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    // Picks up registrations on other nodes. The window overlaps the previous one so rows whose
+    // created_at was stamped before a slower transaction committed are not missed. The startup
+    // rebuild has just read every slug, so the first refresh waits a full interval.
+    @Scheduled(fixedDelayString = "${app.creators.slug-filter.refresh-interval-ms:15000}",
+            initialDelayString = "${app.creators.slug-filter.refresh-interval-ms:15000}")
+    public void refresh() {
+        refreshing.lock();
+        try {
+            topUp();
+        } finally {
+            refreshing.unlock();
+        }
+    }
+
+    private boolean topUp() {
+        LocalDateTime since = refreshedUpTo;
+        if (since == null) {
+            return false;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            creatorRepository.findSlugsCreatedSince(since.minusSeconds(refreshOverlapSeconds)).forEach(this::add);
+            refreshedUpTo = startedAt;
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not refresh creator slug filter: {}", e.getMessage());
+            return false;
+        }
+    }
+}
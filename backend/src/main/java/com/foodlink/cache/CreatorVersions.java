@@ -0,0 +1,39 @@
+package com.foodlink.cache;
+
+import com.foodlink.domain.event.CreatorProfileChangedEvent;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Monotonic per-creator content version. Caches put the version into their keys, so a bump
+// invalidates everything cached for that creator without scanning; stale entries age out.
+// Bumped after commit so a reader can never cache pre-commit data under the new version;
+// in-memory indexes that feed those caches order their own listeners ahead of the bump.
+// Versions live in memory, per node, and restart at 0, so they never leave the process;
+// HTTP validators use the persisted creators.content_version instead (CreatorEtags).
+@Component
+public class CreatorVersions {
+
+    private final ConcurrentMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    public long current(String creatorSlug) {
+        return versions.getOrDefault(creatorSlug, 0L);
+    }
+
+    public long bump(String creatorSlug) {
+        return versions.merge(creatorSlug, 1L, Long::sum);
+    }
+
+    @TransactionalEventListener
+    public void onRecommendationCreated(RecommendationCreatedEvent event) {
+        bump(event.getCreatorSlug());
+    }
+
+    @TransactionalEventListener
+    public void onCreatorProfileChanged(CreatorProfileChangedEvent event) {
+        bump(event.getCreatorSlug());
+    }
+}
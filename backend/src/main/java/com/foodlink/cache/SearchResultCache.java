@@ -0,0 +1,71 @@
+package com.foodlink.cache;
+
+import com.foodlink.dto.response.RecommendationResponse;
+import com.foodlink.dto.response.SearchResponse;
+import com.foodlink.search.FacetFilter;
+import com.foodlink.search.TextAnalyzer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Result cache in front of creator search, bounded by estimated response size
+@Component
+public class SearchResultCache {
+
+    // Rough per-object overhead for the response, pagination and each result row
+    private static final long RESPONSE_OVERHEAD_BYTES = 256;
+    private static final long RESULT_OVERHEAD_BYTES = 320;
+
+    private final CreatorVersions creatorVersions;
+    private final WeightedLruCache<Key, SearchResponse> cache;
+
+    public SearchResultCache(CreatorVersions creatorVersions,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.search.cache.max-bytes:33554432}") long maxBytes) {
+        this.creatorVersions = creatorVersions;
+        this.cache = new WeightedLruCache<>(maxBytes, SearchResultCache::estimateBytes);
+        CacheMetrics.register(meterRegistry, "search", cache);
+    }
+
+    public Key keyFor(String creatorSlug, String query, FacetFilter filter, String sortBy, int page, int size) {
+        return new Key(creatorSlug, creatorVersions.current(creatorSlug), TextAnalyzer.normalize(query),
+                filter.cacheKey(), sortBy, page, size);
+    }
+
+    public SearchResponse get(Key key) {
+        return cache.get(key);
+    }
+
+    public void put(Key key, SearchResponse response) {
+        cache.put(key, response);
+    }
+
+    private static long estimateBytes(SearchResponse response) {
+        long bytes = RESPONSE_OVERHEAD_BYTES;
+        if (response.getResults() != null) {
+            for (RecommendationResponse result : response.getResults()) {
+                bytes += RESULT_OVERHEAD_BYTES
+                        + 2L * (length(result.getDishName()) + length(result.getRestaurantName())
+                        + length(result.getArea()) + length(result.getFullAddress())
+                        + length(result.getGoogleMapsUrl()) + length(result.getCreatorQuote())
+                        + length(result.getDescription()) + length(result.getThumbnailUrl())
+                        + length(result.getInstagramUrl()));
+            }
+        }
+        if (response.getAggregations() != null) {
+            bytes += 64L * response.getAggregations().values().stream().mapToInt(Map::size).sum();
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    // The version makes old entries unreachable as soon as the creator changes
+    public record Key(String creatorSlug, long version, String query, String filter,
+                      String sortBy, int page, int size) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.foodlink.cache;
+
+import java.time.Duration;
+
+// Cache shared by all nodes (e.g. Redis) behind the per-node caches. Values are opaque bytes;
+// implementations must not throw on a miss and may drop entries at any time.
+public interface SharedCacheTier {
+
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void evict(String key);
+}
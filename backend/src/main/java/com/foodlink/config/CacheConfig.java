@@ -0,0 +1,19 @@
+package com.foodlink.config;
+
+import com.foodlink.cache.InMemorySharedCacheTier;
+import com.foodlink.cache.SharedCacheTier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // A SharedCacheTier bean backed by a real shared store replaces this in-process stand-in
+    @Bean
+    @ConditionalOnMissingBean(SharedCacheTier.class)
+    public SharedCacheTier sharedCacheTier(@Value("${app.cache.shared.max-entries:100000}") int maxEntries) {
+        return new InMemorySharedCacheTier(maxEntries);
+    }
+}
@@ -3,6 +3,7 @@ package com.foodlink.config;
 import com.foodlink.security.CustomUserDetailsService;
 import com.foodlink.security.JwtAuthenticationFilter;
 import com.foodlink.security.JwtTokenProvider;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -68,6 +69,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> 
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of an already authorized request (SSE streams); the JWT filter does not re-run on them
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers(
                                 "/api/v1/auth/**",
@@ -75,7 +78,8 @@ public class SecurityConfig {
                                 "/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
-                                "/v3/api-docs/**"
+                                "/v3/api-docs/**",
+                                "/actuator/health"
                         ).permitAll()
                         // Creator endpoints require authentication
                         .requestMatchers("/api/v1/creator/**").authenticated()
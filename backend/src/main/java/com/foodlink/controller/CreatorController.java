@@ -1,10 +1,14 @@
 package com.foodlink.controller;
 
+import com.foodlink.analytics.live.LiveAnalyticsBroadcaster;
 import com.foodlink.dto.request.CreateRecommendationRequest;
+import com.foodlink.dto.response.AnalyticsResponse;
 import com.foodlink.dto.response.ApiResponse;
 import com.foodlink.dto.response.CreatorResponse;
 import com.foodlink.dto.response.RecommendationResponse;
+import com.foodlink.dto.response.RecommendationScrollResponse;
 import com.foodlink.security.UserPrincipal;
+import com.foodlink.service.CreatorAnalyticsService;
 import com.foodlink.service.CreatorService;
 import com.foodlink.service.RecommendationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,9 +17,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -27,10 +33,14 @@ public class CreatorController {
 
     private final CreatorService creatorService;
     private final RecommendationService recommendationService;
+    private final CreatorAnalyticsService creatorAnalyticsService;
+    private final LiveAnalyticsBroadcaster liveAnalyticsBroadcaster;
 
-    public CreatorController(CreatorService creatorService, RecommendationService recommendationService) {
+    public CreatorController(CreatorService creatorService, RecommendationService recommendationService, CreatorAnalyticsService creatorAnalyticsService, LiveAnalyticsBroadcaster liveAnalyticsBroadcaster) {
         this.creatorService = creatorService;
         this.recommendationService = recommendationService;
+        this.creatorAnalyticsService = creatorAnalyticsService;
+        this.liveAnalyticsBroadcaster = liveAnalyticsBroadcaster;
     }
 
     @GetMapping("/profile")
@@ -63,4 +73,30 @@ public class CreatorController {
                 recommendationService.getCreatorRecommendations(currentUser.getId(), page, size);
         return ResponseEntity.ok(ApiResponse.success(recommendations));
     }
+
+    @GetMapping("/recommendations/scroll")
+    @Operation(summary = "Get creator's own recommendations by cursor")
+    public ResponseEntity<ApiResponse<RecommendationScrollResponse>> scrollMyRecommendations(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        RecommendationScrollResponse recommendations =
+                recommendationService.scroll(currentUser.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(recommendations));
+    }
+
+    @GetMapping("/analytics")
+    @Operation(summary = "Get dashboard analytics for the last N days")
+    public ResponseEntity<ApiResponse<AnalyticsResponse>> getAnalytics(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(defaultValue = "30") int days) {
+        AnalyticsResponse analytics = creatorAnalyticsService.getCreatorAnalytics(currentUser.getId(), days);
+        return ResponseEntity.ok(ApiResponse.success(analytics));
+    }
+
+    @GetMapping(value = "/analytics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live analytics deltas (server-sent events, one frame per second)")
+    public SseEmitter streamAnalytics(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return liveAnalyticsBroadcaster.subscribe(currentUser.getId());
+    }
 }
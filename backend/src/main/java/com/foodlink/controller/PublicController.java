@@ -1,20 +1,36 @@
 package com.foodlink.controller;
 
+import com.foodlink.analytics.EventBatchParser;
+import com.foodlink.cache.CreatorEtags;
+import com.foodlink.cache.CreatorSlugFilter;
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.dto.request.SearchRequest;
 import com.foodlink.dto.request.TrackEventRequest;
 import com.foodlink.dto.response.ApiResponse;
-import com.foodlink.dto.response.CreatorPublicResponse;
-import com.foodlink.dto.response.RecommendationResponse;
+import com.foodlink.dto.response.DiscoveryFeedResponse;
+import com.foodlink.dto.response.RecommendationScrollResponse;
+import com.foodlink.dto.response.SearchResponse;
+import com.foodlink.dto.response.SuggestionResponse;
+import com.foodlink.search.Distances;
+import com.foodlink.search.FacetFilter;
+import com.foodlink.search.SearchFacets;
 import com.foodlink.service.AnalyticsService;
-import com.foodlink.service.CreatorService;
+import com.foodlink.service.CreatorSnapshotService;
+import com.foodlink.service.DiscoveryFeedService;
 import com.foodlink.service.RecommendationService;
+import com.foodlink.service.SearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,28 +40,186 @@ import java.util.List;
 @Tag(name = "Public APIs", description = "Public APIs accessible without authentication")
 public class PublicController {
 
-    private final CreatorService creatorService;
+    // Shared caches may store creator pages but must revalidate them (cheap, see notModified)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
     private final RecommendationService recommendationService;
     private final AnalyticsService analyticsService;
+    private final SearchService searchService;
+    private final DiscoveryFeedService discoveryFeedService;
+    private final EventBatchParser eventBatchParser;
+    private final CreatorEtags creatorEtags;
+    private final CreatorSnapshotService creatorSnapshots;
+    private final CreatorSlugFilter creatorSlugFilter;
 
     @GetMapping("/creators/{slug}")
     @Operation(summary = "Get creator's public profile by slug")
-    public ResponseEntity<ApiResponse<CreatorPublicResponse>> getCreator(@PathVariable String slug) {
-        CreatorPublicResponse creator = creatorService.getCreatorBySlug(slug);
-        return ResponseEntity.ok(ApiResponse.success(creator));
+    public ResponseEntity<?> getCreator(@PathVariable String slug, WebRequest webRequest) {
+        if (!creatorSlugFilter.mightExist(slug)) {
+            return creatorNotFound(slug);
+        }
+        if (notModified(slug, webRequest)) {
+            return null;
+        }
+        return snapshotResponse(creatorSnapshots.profile(slug), webRequest);
+    }
+
+    @GetMapping("/creators/{slug}/page")
+    @Operation(summary = "Get creator's profile and first page of recommendations in one call")
+    public ResponseEntity<?> getCreatorPage(
+            @PathVariable String slug,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (!creatorSlugFilter.mightExist(slug)) {
+            return creatorNotFound(slug);
+        }
+        if (notModified(slug, webRequest)) {
+            return null;
+        }
+        return snapshotResponse(creatorSnapshots.page(slug, size), webRequest);
     }
 
     @GetMapping("/creators/{slug}/recommendations")
     @Operation(summary = "Get creator's recommendations")
-    public ResponseEntity<ApiResponse<List<RecommendationResponse>>> getRecommendations(
+    public ResponseEntity<?> getRecommendations(
             @PathVariable String slug,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        // Unknown creators have always listed as empty rather than 404
+        if (!creatorSlugFilter.mightExist(slug)) {
+            return ResponseEntity.ok(ApiResponse.success(List.of()));
+        }
+        if (notModified(slug, webRequest)) {
+            return null;
+        }
+        return snapshotResponse(creatorSnapshots.recommendations(slug, page, size), webRequest);
+    }
+
+    @GetMapping("/creators/{slug}/recommendations/scroll")
+    @Operation(summary = "Get creator's recommendations by cursor (pass nextCursor back for the next page)")
+    public ResponseEntity<ApiResponse<RecommendationScrollResponse>> scrollRecommendations(
+            @PathVariable String slug,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        List<RecommendationResponse> recommendations = 
-                recommendationService.getPublicRecommendations(slug, page, size);
+        if (!creatorSlugFilter.mightExist(slug)) {
+            return creatorNotFound(slug);
+        }
+        RecommendationScrollResponse recommendations =
+                recommendationService.scrollPublicRecommendations(slug, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(recommendations));
     }
 
+    @GetMapping("/creators/{slug}/search")
+    @Operation(summary = "Search a creator's recommendations")
+    public ResponseEntity<ApiResponse<SearchResponse>> search(
+            @PathVariable String slug,
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(required = false) Recommendation.DishCategory[] categories,
+            @RequestParam(required = false) Recommendation.CuisineType[] cuisines,
+            @RequestParam(required = false) Recommendation.MealType[] mealTypes,
+            @RequestParam(required = false) Recommendation.PriceRange[] priceRanges,
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        FacetFilter filter = FacetFilter.none()
+                .with(SearchFacets.DISH_CATEGORY, categories)
+                .with(SearchFacets.CUISINE_TYPE, cuisines)
+                .with(SearchFacets.MEAL_TYPE, mealTypes)
+                .with(SearchFacets.PRICE_RANGE, priceRanges);
+        SearchResponse results = searchService.searchCreator(slug, query, filter, sortBy, page, size);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @GetMapping("/creators/{slug}/suggest")
+    @Operation(summary = "Typeahead completions for a creator's search box")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @PathVariable String slug,
+            @RequestParam(name = "q") String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionResponse> suggestions = searchService.suggest(slug, prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Faceted search across recommendations")
+    public ResponseEntity<ApiResponse<SearchResponse>> search(@ModelAttribute SearchRequest request) {
+        SearchResponse results = searchService.search(request);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Recommendations within a radius, nearest first")
+    public ResponseEntity<ApiResponse<SearchResponse>> nearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5km") String radius,
+            @RequestParam(required = false) String creatorSlug,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchResponse results = searchService.nearby(
+                lat, lng, Distances.parseKilometers(radius), creatorSlug, page, size);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Best recommendations across all creators for a city, area or category")
+    public ResponseEntity<ApiResponse<DiscoveryFeedResponse>> getFeed(
+            @RequestParam(defaultValue = "Delhi") String city,
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) Recommendation.DishCategory category,
+            @RequestParam(defaultValue = "20") int limit) {
+        DiscoveryFeedResponse feed = discoveryFeedService.getFeed(city, area, category, limit);
+        return ResponseEntity.ok(ApiResponse.success(feed));
+    }
+
+    // Same body as the ResourceNotFoundException handler, without building the exception
+    private static <T> ResponseEntity<ApiResponse<T>> creatorNotFound(String slug) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Creator not found with slug: " + slug));
+    }
+
+    // Validators come from memory only: on a match the 304 (with ETag and Last-Modified) is written here,
+    // before any query or serialization. Otherwise the same headers go out with the 200. The tag is the
+    // one for the encoding this request gets, but a client revalidating the other variant it has
+    // stored (Accept-Encoding changed) still matches, and its 304 carries the tag it sent.
+    private boolean notModified(String slug, WebRequest webRequest) {
+        CreatorEtags.Validators validators = creatorEtags.of(slug);
+        boolean gzip = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? validators.gzipEtag() : validators.etag();
+        String otherEtag = gzip ? validators.etag() : validators.gzipEtag();
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && !ifNoneMatch.contains(etag) && ifNoneMatch.contains(otherEtag)) {
+            etag = otherEtag;
+        }
+        return webRequest.checkNotModified(etag, validators.lastModified());
+    }
+
+    // Pre-serialized ApiResponse JSON, written as is; gzipped bytes go to clients that accept them
+    private static ResponseEntity<byte[]> snapshotResponse(CreatorSnapshotService.Snapshot snapshot, WebRequest webRequest) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.gzipped() != null && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzipped());
+        }
+        return response.body(snapshot.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
+    }
+
     @PostMapping("/events")
     @Operation(summary = "Track analytics event")
     public ResponseEntity<Void> trackEvent(
@@ -54,4 +228,13 @@ public class PublicController {
         analyticsService.trackEvent(request, httpRequest);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @PostMapping(value = "/events/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Track a batch of analytics events (JSON array or compact form, sendBeacon friendly)")
+    public ResponseEntity<Void> trackEvents(
+            @RequestBody String body,
+            HttpServletRequest httpRequest) {
+        analyticsService.trackEvents(eventBatchParser.parse(body), httpRequest);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
 }
@@ -10,10 +10,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "analytics_events", indexes = {
-        @Index(name = "idx_analytics_creator", columnList = "creator_id"),
-        @Index(name = "idx_analytics_recommendation", columnList = "recommendation_id"),
-        @Index(name = "idx_analytics_event_type", columnList = "event_type"),
-        @Index(name = "idx_analytics_created_at", columnList = "created_at")
+        @Index(name = "idx_analytics_creator_type_created", columnList = "creator_id, event_type, created_at")
 })
 @Getter
 @Setter
@@ -67,6 +67,15 @@ public class Creator {
     @Builder.Default
     private Integer totalPageViews = 0;
 
+    // Bumped with content_modified_at whenever the public creator endpoints would change
+    @Column(nullable = false)
+    @Builder.Default
+    private Long contentVersion = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime contentModifiedAt = LocalDateTime.now();
+
     @Enumerated(EnumType.STRING)
     @Column(length = 20)
     private CreatorStatus status = CreatorStatus.ACTIVE;
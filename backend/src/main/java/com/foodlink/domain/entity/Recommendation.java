@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Table(name = "recommendations", indexes = {
         @Index(name = "idx_recommendations_creator", columnList = "creator_id"),
         @Index(name = "idx_recommendations_status", columnList = "status"),
-        @Index(name = "idx_recommendations_category", columnList = "dish_category")
+        @Index(name = "idx_recommendations_category", columnList = "dish_category"),
+        @Index(name = "idx_recommendations_creator_status_published", columnList = "creator_id, status, published_at DESC, id DESC")
 })
 @Getter
 @Setter
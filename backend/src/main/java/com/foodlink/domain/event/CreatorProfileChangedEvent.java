@@ -0,0 +1,14 @@
+package com.foodlink.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published whenever a creator's public profile is created or changed.
+// Listeners should use @TransactionalEventListener so they only see committed rows.
+@Getter
+@AllArgsConstructor
+public class CreatorProfileChangedEvent {
+
+    private final Long creatorId;
+    private final String creatorSlug;
+}
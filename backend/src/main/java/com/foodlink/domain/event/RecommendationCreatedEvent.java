@@ -0,0 +1,16 @@
+package com.foodlink.domain.event;
+
+import com.foodlink.domain.entity.Recommendation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by RecommendationService once a recommendation is saved.
+// Listeners should use @TransactionalEventListener so they only see committed rows.
+@Getter
+@AllArgsConstructor
+public class RecommendationCreatedEvent {
+
+    private final Long creatorId;
+    private final String creatorSlug;
+    private final Recommendation recommendation;
+}
@@ -19,15 +19,6 @@ public interface AnalyticsEventRepository extends JpaRepository<AnalyticsEvent,
             LocalDateTime after
     );
 
-    @Query("SELECT e.searchQuery, COUNT(e) as count FROM AnalyticsEvent e " +
-            "WHERE e.creatorId = :creatorId AND e.eventType = 'SEARCH' " +
-            "AND e.createdAt >= :after " +
-            "GROUP BY e.searchQuery ORDER BY count DESC")
-    List<Object[]> findTopSearchQueriesByCreatorId(
-            @Param("creatorId") Long creatorId,
-            @Param("after") LocalDateTime after
-    );
-
     @Query("SELECT DATE(e.createdAt) as date, COUNT(e) as count FROM AnalyticsEvent e " +
             "WHERE e.creatorId = :creatorId AND e.eventType = :eventType " +
             "AND e.createdAt >= :after " +
@@ -2,8 +2,14 @@ package com.foodlink.domain.repository;
 
 import com.foodlink.domain.entity.Creator;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,4 +30,29 @@ public interface CreatorRepository extends JpaRepository<Creator, Long> {
     boolean existsBySlug(String slug);
 
     boolean existsByInstagramHandle(String instagramHandle);
+
+    // Loads every slug for CreatorSlugFilter; slugs are short, so this stays small
+    @Query("SELECT c.slug FROM Creator c")
+    List<String> findAllSlugs();
+
+    @Query("SELECT c.slug FROM Creator c WHERE c.createdAt >= :since")
+    List<String> findSlugsCreatedSince(@Param("since") LocalDateTime since);
+
+    // [slug, id] pairs, used to resolve a batch of analytics events in one query
+    @Query("SELECT c.slug, c.id FROM Creator c WHERE c.slug IN :slugs")
+    List<Object[]> findIdsBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    // Relative update in the database, so concurrent callers never overwrite each other's counts
+    @Modifying
+    @Query("UPDATE Creator c SET c.totalRecommendations = COALESCE(c.totalRecommendations, 0) + :recommendationsDelta, " +
+            "c.totalPageViews = COALESCE(c.totalPageViews, 0) + :pageViewsDelta WHERE c.id = :creatorId")
+    int addStats(@Param("creatorId") Long creatorId,
+                 @Param("recommendationsDelta") int recommendationsDelta,
+                 @Param("pageViewsDelta") int pageViewsDelta);
+
+    // In the transaction that changes what the public creator endpoints return; read by CreatorEtags
+    @Modifying
+    @Query("UPDATE Creator c SET c.contentVersion = c.contentVersion + 1, c.contentModifiedAt = :modifiedAt " +
+            "WHERE c.id = :creatorId")
+    int bumpContentVersion(@Param("creatorId") Long creatorId, @Param("modifiedAt") LocalDateTime modifiedAt);
 }
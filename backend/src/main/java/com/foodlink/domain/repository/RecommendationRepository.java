@@ -3,29 +3,71 @@ package com.foodlink.domain.repository;
 import com.foodlink.domain.entity.Recommendation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RecommendationRepository extends JpaRepository<Recommendation, Long> {
+public interface RecommendationRepository extends JpaRepository<Recommendation, Long>, JpaSpecificationExecutor<Recommendation> {
 
-    Page<Recommendation> findByCreatorIdAndStatus(
+    // The mapper reads thumbnail and Instagram URL from the video, so it is loaded with the page.
+    // Offset listings return a List so Spring Data does not run a COUNT per call.
+    @EntityGraph(attributePaths = "video")
+    List<Recommendation> findByCreatorIdAndStatus(
             Long creatorId,
             Recommendation.RecommendationStatus status,
             Pageable pageable
     );
 
-    Page<Recommendation> findByCreatorSlugAndStatus(
+    @EntityGraph(attributePaths = "video")
+    List<Recommendation> findByCreatorSlugAndStatus(
             String creatorSlug,
             Recommendation.RecommendationStatus status,
             Pageable pageable
     );
 
+    // [id, view count] pairs, so the in-memory search index can re-rank without reloading documents
+    @Query("SELECT r.id, r.viewCount FROM Recommendation r WHERE r.creator.slug = :slug AND r.status = :status")
+    List<Object[]> findViewCountsByCreatorSlugAndStatus(@Param("slug") String creatorSlug,
+                                                        @Param("status") Recommendation.RecommendationStatus status);
+
+    // [id, creator id] pairs for the ids that exist, used to validate a batch of analytics events in one query
+    @Query("SELECT r.id, r.creator.id FROM Recommendation r WHERE r.id IN :ids")
+    List<Object[]> findCreatorIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Analytics rows carry client-sent recommendation ids, so only the creator's own rows are returned
+    @Query("SELECT r FROM Recommendation r WHERE r.creator.id = :creatorId AND r.id IN :ids")
+    List<Recommendation> findByCreatorIdAndIdIn(@Param("creatorId") Long creatorId, @Param("ids") Collection<Long> ids);
+
+    // Keyset pages in (published_at DESC, id DESC) order, served by idx_recommendations_creator_status_published
+    // from V8. The pageable only carries the limit; the video comes in the same statement.
+    @Query("SELECT r FROM Recommendation r LEFT JOIN FETCH r.video " +
+            "WHERE r.creator.id = :creatorId AND r.status = 'PUBLISHED' " +
+            "ORDER BY r.publishedAt DESC, r.id DESC")
+    List<Recommendation> findPublishedPage(
+            @Param("creatorId") Long creatorId,
+            Pageable pageable
+    );
+
+    @Query("SELECT r FROM Recommendation r LEFT JOIN FETCH r.video " +
+            "WHERE r.creator.id = :creatorId AND r.status = 'PUBLISHED' " +
+            "AND (r.publishedAt, r.id) < (:publishedAt, :id) " +
+            "ORDER BY r.publishedAt DESC, r.id DESC")
+    List<Recommendation> findPublishedPageAfter(
+            @Param("creatorId") Long creatorId,
+            @Param("publishedAt") LocalDateTime publishedAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
     @Query("SELECT r FROM Recommendation r WHERE r.creator.slug = :slug AND r.status = 'PUBLISHED' " +
             "AND (LOWER(r.dishName) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(r.restaurantName) LIKE LOWER(CONCAT('%', :query, '%')) " +
@@ -36,6 +78,28 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
             Pageable pageable
     );
 
+    // <% is word similarity: "momo" matches "Chicken Momos" and "biriyani" matches "Hyderabadi Biryani".
+    // Both operators are served by the GIN trigram indexes from V3.
+    @Query(value = "SELECT r.* FROM recommendations r JOIN creators c ON c.id = r.creator_id " +
+            "WHERE c.slug = :slug AND r.status = 'PUBLISHED' " +
+            "AND (:query <% r.dish_name OR :query <% r.restaurant_name) " +
+            "ORDER BY GREATEST(word_similarity(:query, r.dish_name), word_similarity(:query, r.restaurant_name)) DESC, " +
+            "r.view_count DESC",
+            countQuery = "SELECT COUNT(*) FROM recommendations r JOIN creators c ON c.id = r.creator_id " +
+                    "WHERE c.slug = :slug AND r.status = 'PUBLISHED' " +
+                    "AND (:query <% r.dish_name OR :query <% r.restaurant_name)",
+            nativeQuery = true)
+    Page<Recommendation> searchBySimilarity(
+            @Param("slug") String slug,
+            @Param("query") String query,
+            Pageable pageable
+    );
+
+    // Scoped to the current transaction, so callers must be @Transactional
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', CAST(:threshold AS text), true)",
+            nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") double threshold);
+
     List<Recommendation> findTop10ByCreatorIdAndStatusOrderByViewCountDesc(
             Long creatorId,
             Recommendation.RecommendationStatus status
@@ -43,5 +107,42 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
 
     Optional<Recommendation> findByIdAndCreatorId(Long id, Long creatorId);
 
+    @EntityGraph(attributePaths = "creator")
+    List<Recommendation> findByStatusAndIdGreaterThanOrderByIdAsc(
+            Recommendation.RecommendationStatus status,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT r.id, r.creator.slug, r.latitude, r.longitude FROM Recommendation r " +
+            "WHERE r.status = 'PUBLISHED' AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    List<Object[]> findPublishedCoordinates();
+
+    // Top-N published recommendations per city, city+area, city+category and city+area+category,
+    // ranked by engagement decayed by age. Runs on the discovery feed's refresh schedule only.
+    @Query(value = "SELECT id, creator_slug, creator_display_name, dish_name, restaurant_name, city, area, " +
+            "dish_category, price_range, thumbnail_url, view_count, score FROM (" +
+            "  SELECT s.*, " +
+            "    ROW_NUMBER() OVER (PARTITION BY s.city ORDER BY s.score DESC, s.id DESC) AS rn_city, " +
+            "    ROW_NUMBER() OVER (PARTITION BY s.city, s.area ORDER BY s.score DESC, s.id DESC) AS rn_area, " +
+            "    ROW_NUMBER() OVER (PARTITION BY s.city, s.dish_category ORDER BY s.score DESC, s.id DESC) AS rn_category, " +
+            "    ROW_NUMBER() OVER (PARTITION BY s.city, s.area, s.dish_category ORDER BY s.score DESC, s.id DESC) AS rn_area_category " +
+            "  FROM (" +
+            "    SELECT r.id, c.slug AS creator_slug, c.display_name AS creator_display_name, r.dish_name, " +
+            "      r.restaurant_name, COALESCE(r.city, 'Delhi') AS city, r.area, r.dish_category, r.price_range, " +
+            "      v.thumbnail_url, r.view_count, " +
+            "      (COALESCE(r.view_count, 0) + 3 * (COALESCE(r.instagram_clicks, 0) + COALESCE(r.maps_clicks, 0)) " +
+            "        + 5 * COALESCE(r.save_count, 0) + 1) " +
+            "        / POWER(EXTRACT(EPOCH FROM (NOW() - COALESCE(r.published_at, r.created_at))) / 86400.0 + 2, 0.8) AS score " +
+            "    FROM recommendations r " +
+            "    JOIN creators c ON c.id = r.creator_id " +
+            "    LEFT JOIN videos v ON v.id = r.video_id " +
+            "    WHERE r.status = 'PUBLISHED' AND c.status = 'ACTIVE'" +
+            "  ) s" +
+            ") ranked " +
+            "WHERE rn_city <= :limit OR rn_area <= :limit OR rn_category <= :limit OR rn_area_category <= :limit",
+            nativeQuery = true)
+    List<Object[]> findDiscoveryFeedCandidates(@Param("limit") int limit);
+
     long countByCreatorIdAndStatus(Long creatorId, Recommendation.RecommendationStatus status);
 }
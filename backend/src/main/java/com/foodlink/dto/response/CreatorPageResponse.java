@@ -0,0 +1,19 @@
+package com.foodlink.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatorPageResponse {
+    private CreatorPublicResponse creator;
+    private List<RecommendationResponse> recommendations;
+    private Boolean hasMore;
+    private String nextCursor;
+}
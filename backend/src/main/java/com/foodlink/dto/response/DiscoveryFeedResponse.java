@@ -0,0 +1,22 @@
+package com.foodlink.dto.response;
+
+import com.foodlink.domain.entity.Recommendation.DishCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscoveryFeedResponse {
+    private String city;
+    private String area;
+    private DishCategory category;
+    private LocalDateTime generatedAt;
+    private List<FeedItemResponse> items;
+}
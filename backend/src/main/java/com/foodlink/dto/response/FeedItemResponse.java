@@ -0,0 +1,25 @@
+package com.foodlink.dto.response;
+
+import com.foodlink.domain.entity.Recommendation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedItemResponse {
+    private Long id;
+    private String creatorSlug;
+    private String creatorDisplayName;
+    private String dishName;
+    private String restaurantName;
+    private String area;
+    private String city;
+    private DishCategory dishCategory;
+    private PriceRange priceRange;
+    private String thumbnailUrl;
+    private Integer viewCount;
+}
@@ -0,0 +1,31 @@
+package com.foodlink.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveAnalyticsFrame {
+    private LocalDateTime timestamp;
+    private List<Delta> deltas;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Delta {
+        private Long recommendationId;
+        private AnalyticsEvent.EventType eventType;
+        private Long count;
+    }
+}
@@ -1,5 +1,6 @@
 package com.foodlink.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.foodlink.domain.entity.Recommendation.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,4 +39,8 @@ public class RecommendationResponse {
     private String instagramUrl;
     private LocalDateTime publishedAt;
     private LocalDateTime createdAt;
+
+    // Only set by location searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
 }
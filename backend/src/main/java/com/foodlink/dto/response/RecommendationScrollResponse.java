@@ -0,0 +1,18 @@
+package com.foodlink.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationScrollResponse {
+    private List<RecommendationResponse> recommendations;
+    // Null on the last page
+    private String nextCursor;
+}
@@ -1,5 +1,7 @@
 package com.foodlink.mapper;
 
+import com.foodlink.analytics.CreatorPageViewCounters;
+import com.foodlink.cache.CachedCreator;
 import com.foodlink.domain.entity.Creator;
 import com.foodlink.dto.response.CreatorPublicResponse;
 import com.foodlink.dto.response.CreatorResponse;
@@ -8,6 +10,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class CreatorMapper {
 
+    private final CreatorPageViewCounters pageViewCounters;
+
+    public CreatorMapper(CreatorPageViewCounters pageViewCounters) {
+        this.pageViewCounters = pageViewCounters;
+    }
+
     public CreatorResponse toResponse(Creator creator) {
         return CreatorResponse.builder()
                 .id(creator.getId())
@@ -23,23 +31,32 @@ public class CreatorMapper {
                 .subscriptionTier(creator.getSubscriptionTier())
                 .subscriptionExpiresAt(creator.getSubscriptionExpiresAt())
                 .totalRecommendations(creator.getTotalRecommendations())
-                .totalPageViews(creator.getTotalPageViews())
+                .totalPageViews(totalPageViews(creator))
                 .status(creator.getStatus())
                 .createdAt(creator.getCreatedAt())
                 .build();
     }
 
-    public CreatorPublicResponse toPublicResponse(Creator creator) {
+    public CreatorPublicResponse toPublicResponse(CachedCreator creator) {
         return CreatorPublicResponse.builder()
-                .username(creator.getUsername())
-                .displayName(creator.getDisplayName())
-                .bio(creator.getBio())
-                .profileImageUrl(creator.getProfileImageUrl())
-                .instagramHandle(creator.getInstagramHandle())
-                .slug(creator.getSlug())
-                .themeColor(creator.getThemeColor())
-                .totalRecommendations(creator.getTotalRecommendations())
-                .totalPageViews(creator.getTotalPageViews())
+                .username(creator.username())
+                .displayName(creator.displayName())
+                .bio(creator.bio())
+                .profileImageUrl(creator.profileImageUrl())
+                .instagramHandle(creator.instagramHandle())
+                .slug(creator.slug())
+                .themeColor(creator.themeColor())
+                .totalRecommendations(creator.totalRecommendations())
+                .totalPageViews(totalPageViews(creator.id(), creator.totalPageViews()))
                 .build();
     }
+
+    private int totalPageViews(Creator creator) {
+        return totalPageViews(creator.getId(), creator.getTotalPageViews());
+    }
+
+    // Includes views still waiting for the next write-behind flush
+    private int totalPageViews(Long creatorId, Integer persisted) {
+        return (persisted != null ? persisted : 0) + pageViewCounters.pending(creatorId);
+    }
 }
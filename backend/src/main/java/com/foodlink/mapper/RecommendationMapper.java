@@ -1,5 +1,7 @@
 package com.foodlink.mapper;
 
+import com.foodlink.analytics.EngagementCounter;
+import com.foodlink.analytics.EngagementCounters;
 import com.foodlink.domain.entity.Recommendation;
 import com.foodlink.dto.response.RecommendationResponse;
 import org.springframework.stereotype.Component;
@@ -7,6 +9,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class RecommendationMapper {
 
+    private final EngagementCounters engagementCounters;
+
+    public RecommendationMapper(EngagementCounters engagementCounters) {
+        this.engagementCounters = engagementCounters;
+    }
+
     public RecommendationResponse toResponse(Recommendation recommendation) {
         return RecommendationResponse.builder()
                 .id(recommendation.getId())
@@ -25,10 +33,11 @@ public class RecommendationMapper {
                 .mealType(recommendation.getMealType())
                 .priceRange(recommendation.getPriceRange())
                 .tags(recommendation.getTags())
-                .viewCount(recommendation.getViewCount())
-                .instagramClicks(recommendation.getInstagramClicks())
-                .mapsClicks(recommendation.getMapsClicks())
-                .saveCount(recommendation.getSaveCount())
+                // Counters include clicks still waiting for the next EngagementCounters flush
+                .viewCount(engagementCounters.withPending(recommendation.getViewCount(), recommendation.getId(), EngagementCounter.VIEWS))
+                .instagramClicks(engagementCounters.withPending(recommendation.getInstagramClicks(), recommendation.getId(), EngagementCounter.INSTAGRAM_CLICKS))
+                .mapsClicks(engagementCounters.withPending(recommendation.getMapsClicks(), recommendation.getId(), EngagementCounter.MAPS_CLICKS))
+                .saveCount(engagementCounters.withPending(recommendation.getSaveCount(), recommendation.getId(), EngagementCounter.SAVES))
                 .thumbnailUrl(recommendation.getVideo() != null ? 
                         recommendation.getVideo().getThumbnailUrl() : null)
                 .instagramUrl(recommendation.getVideo() != null ? 
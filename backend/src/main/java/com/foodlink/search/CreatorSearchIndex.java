@@ -0,0 +1,302 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Token/prefix inverted index plus facet bitsets over one creator's published recommendations.
+// Documents get dense ordinals, so each facet value is a BitSet over [0, size) and facet
+// filtering and counting are word-wise ANDs and popcounts. View counts keep changing after a
+// document is added, so ranking reads them from an array the owner refreshes, not the document.
+public class CreatorSearchIndex {
+
+    static final int FIELD_DISH = 1;
+    static final int FIELD_RESTAURANT = 2;
+    static final int FIELD_AREA = 4;
+
+    private static final float EXACT_TOKEN_BONUS = 0.5f;
+
+    private static final Comparator<SearchDocument> NEWEST_FIRST = Comparator
+            .comparing(SearchDocument::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(SearchDocument::getId, Comparator.reverseOrder());
+
+    private static final Map<String, Function<SearchDocument, Enum<?>>> FACET_VALUES = new LinkedHashMap<>();
+    private static final Map<String, Enum<?>[]> FACET_DOMAINS = new LinkedHashMap<>();
+
+    static {
+        FACET_VALUES.put(SearchFacets.DISH_CATEGORY, SearchDocument::getDishCategory);
+        FACET_VALUES.put(SearchFacets.CUISINE_TYPE, SearchDocument::getCuisineType);
+        FACET_VALUES.put(SearchFacets.MEAL_TYPE, SearchDocument::getMealType);
+        FACET_VALUES.put(SearchFacets.PRICE_RANGE, SearchDocument::getPriceRange);
+
+        FACET_DOMAINS.put(SearchFacets.DISH_CATEGORY, Recommendation.DishCategory.values());
+        FACET_DOMAINS.put(SearchFacets.CUISINE_TYPE, Recommendation.CuisineType.values());
+        FACET_DOMAINS.put(SearchFacets.MEAL_TYPE, Recommendation.MealType.values());
+        FACET_DOMAINS.put(SearchFacets.PRICE_RANGE, Recommendation.PriceRange.values());
+    }
+
+    private final List<SearchDocument> documents = new ArrayList<>();
+    private int[] viewCounts = new int[16];
+    private final AtomicLong viewCountsRefreshedAt = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final Map<String, PostingList> prefixPostings = new HashMap<>();
+    private final Map<String, PostingList> exactPostings = new HashMap<>();
+    private final Map<String, BitSet[]> facetBits = new HashMap<>();
+    private final SuggestTrie suggestTrie = new SuggestTrie();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CreatorSearchIndex() {
+        FACET_DOMAINS.forEach((facet, values) -> {
+            BitSet[] bits = new BitSet[values.length];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = new BitSet();
+            }
+            facetBits.put(facet, bits);
+        });
+    }
+
+    public void add(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (ordinalsById.containsKey(document.getId())) {
+                return;
+            }
+            int ordinal = documents.size();
+            documents.add(document);
+            ordinalsById.put(document.getId(), ordinal);
+            if (ordinal == viewCounts.length) {
+                viewCounts = Arrays.copyOf(viewCounts, ordinal * 2);
+            }
+            viewCounts[ordinal] = document.getViewCount();
+
+            indexField(ordinal, document.getDishName(), FIELD_DISH);
+            indexField(ordinal, document.getRestaurantName(), FIELD_RESTAURANT);
+            indexField(ordinal, document.getArea(), FIELD_AREA);
+
+            FACET_VALUES.forEach((facet, extractor) -> {
+                Enum<?> value = extractor.apply(document);
+                if (value != null) {
+                    facetBits.get(facet)[value.ordinal()].set(ordinal);
+                }
+            });
+
+            // +1 so recommendations nobody has opened yet still rank by how often they occur
+            long weight = document.getViewCount() + 1L;
+            suggestTrie.add(document.getDishName(), "DISH", weight);
+            suggestTrie.add(document.getRestaurantName(), "RESTAURANT", weight);
+            if (document.getArea() != null) {
+                suggestTrie.add(document.getArea(), "AREA", weight);
+            }
+            if (document.getTags() != null) {
+                for (String tag : document.getTags()) {
+                    if (tag != null) {
+                        suggestTrie.add(tag, "TAG", weight);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // True for the one caller that should refresh the view counts now, at most once per interval
+    public boolean claimViewCountRefresh(long now, long intervalMillis) {
+        long refreshedAt = viewCountsRefreshedAt.get();
+        return now - refreshedAt >= intervalMillis && viewCountsRefreshedAt.compareAndSet(refreshedAt, now);
+    }
+
+    // Ids not in the index are ignored; suggestion weights keep the counts seen when added
+    public void updateViewCounts(Map<Long, Integer> viewCountsById) {
+        lock.writeLock().lock();
+        try {
+            viewCountsById.forEach((id, viewCount) -> {
+                Integer ordinal = ordinalsById.get(id);
+                if (ordinal != null) {
+                    viewCounts[ordinal] = viewCount;
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Suggestion> suggestions = new ArrayList<>();
+            for (SuggestTrie.Completion completion : suggestTrie.complete(prefix, limit)) {
+                suggestions.add(new Suggestion(completion.getText(), completion.getType(), completion.getWeight()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, FacetFilter filter, String sortBy, int offset, int limit) {
+        List<String> tokens = TextAnalyzer.tokenize(query);
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            float[] scores = new float[docCount];
+            BitSet matched = match(tokens, scores);
+
+            Map<String, BitSet> masks = new HashMap<>();
+            for (String facet : FACET_DOMAINS.keySet()) {
+                List<? extends Enum<?>> selected = filter.selected(facet);
+                if (selected.isEmpty()) {
+                    continue;
+                }
+                BitSet mask = new BitSet(docCount);
+                for (Enum<?> value : selected) {
+                    mask.or(facetBits.get(facet)[value.ordinal()]);
+                }
+                masks.put(facet, mask);
+            }
+
+            BitSet hits = (BitSet) matched.clone();
+            masks.values().forEach(hits::and);
+
+            List<Integer> ranked = new ArrayList<>(hits.cardinality());
+            hits.stream().forEach(ranked::add);
+            ranked.sort(comparatorFor(sortBy, scores));
+
+            int from = Math.min(Math.max(offset, 0), ranked.size());
+            int to = Math.min(from + Math.max(limit, 0), ranked.size());
+            List<Long> ids = new ArrayList<>(to - from);
+            for (Integer ordinal : ranked.subList(from, to)) {
+                ids.add(documents.get(ordinal).getId());
+            }
+            return new SearchHits(ids, ranked.size(), facetCounts(matched, masks));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents matching every query token; scores are filled in for the matches
+    private BitSet match(List<String> tokens, float[] scores) {
+        int docCount = scores.length;
+        BitSet matched = new BitSet(docCount);
+        if (tokens.isEmpty()) {
+            matched.set(0, docCount);
+            return matched;
+        }
+
+        int[] matchedTokens = new int[docCount];
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            PostingList prefix = prefixPostings.get(token);
+            if (prefix == null) {
+                return matched;
+            }
+            // AND semantics: a document only stays in play if it matched every earlier token
+            for (int i = 0; i < prefix.size(); i++) {
+                int ordinal = prefix.ordinalAt(i);
+                if (matchedTokens[ordinal] == t) {
+                    matchedTokens[ordinal] = t + 1;
+                    scores[ordinal] += fieldWeight(prefix.fieldMaskAt(i));
+                }
+            }
+            PostingList exact = exactPostings.get(token);
+            if (exact != null) {
+                for (int i = 0; i < exact.size(); i++) {
+                    int ordinal = exact.ordinalAt(i);
+                    if (matchedTokens[ordinal] == t + 1) {
+                        scores[ordinal] += EXACT_TOKEN_BONUS * fieldWeight(exact.fieldMaskAt(i));
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < docCount; i++) {
+            if (matchedTokens[i] == tokens.size()) {
+                matched.set(i);
+            }
+        }
+        return matched;
+    }
+
+    // Disjunctive facet counts: each facet is counted with every *other* facet's filter applied,
+    // so selecting one category still shows how many results the sibling categories would give.
+    private Map<String, Map<String, Long>> facetCounts(BitSet matched, Map<String, BitSet> masks) {
+        Map<String, Map<String, Long>> aggregations = new LinkedHashMap<>();
+        for (Map.Entry<String, Enum<?>[]> facet : FACET_DOMAINS.entrySet()) {
+            BitSet base = (BitSet) matched.clone();
+            masks.forEach((name, mask) -> {
+                if (!name.equals(facet.getKey())) {
+                    base.and(mask);
+                }
+            });
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            BitSet[] bits = facetBits.get(facet.getKey());
+            for (Enum<?> value : facet.getValue()) {
+                BitSet intersection = (BitSet) bits[value.ordinal()].clone();
+                intersection.and(base);
+                int count = intersection.cardinality();
+                if (count > 0) {
+                    counts.put(value.name(), (long) count);
+                }
+            }
+            aggregations.put(facet.getKey(), counts);
+        }
+        return aggregations;
+    }
+
+    private Comparator<Integer> comparatorFor(String sortBy, float[] scores) {
+        if ("newest".equals(sortBy)) {
+            return Comparator.comparing(documents::get, NEWEST_FIRST);
+        }
+        if ("popular".equals(sortBy)) {
+            return mostViewedFirst();
+        }
+        return Comparator.<Integer>comparingDouble(ordinal -> scores[ordinal]).reversed()
+                .thenComparing(mostViewedFirst());
+    }
+
+    // Called under the read lock, so viewCounts cannot be replaced or updated meanwhile
+    private Comparator<Integer> mostViewedFirst() {
+        int[] counts = viewCounts;
+        return Comparator.<Integer>comparingInt(ordinal -> counts[ordinal]).reversed()
+                .thenComparing(documents::get, NEWEST_FIRST);
+    }
+
+    private void indexField(int ordinal, String value, int field) {
+        for (String token : TextAnalyzer.tokenize(value)) {
+            exactPostings.computeIfAbsent(token, k -> new PostingList()).add(ordinal, field);
+            for (String gram : TextAnalyzer.edgeNGrams(token)) {
+                prefixPostings.computeIfAbsent(gram, k -> new PostingList()).add(ordinal, field);
+            }
+        }
+    }
+
+    // Dish matches matter most, then the restaurant, then the neighbourhood
+    private static float fieldWeight(int fieldMask) {
+        if ((fieldMask & FIELD_DISH) != 0) {
+            return 3.0f;
+        }
+        if ((fieldMask & FIELD_RESTAURANT) != 0) {
+            return 2.0f;
+        }
+        return 1.0f;
+    }
+}
@@ -0,0 +1,50 @@
+package com.foodlink.search;
+
+import java.util.Locale;
+
+public final class Distances {
+
+    public static final double DEFAULT_RADIUS_KM = 5.0;
+    public static final double MAX_RADIUS_KM = 50.0;
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private Distances() {
+    }
+
+    // Accepts the SearchRequest radius format: "5km", "750m" or a bare number of kilometres,
+    // clamped to MAX_RADIUS_KM
+    public static double parseKilometers(String radius) {
+        if (radius == null || radius.isBlank()) {
+            return DEFAULT_RADIUS_KM;
+        }
+        String value = radius.trim().toLowerCase(Locale.ROOT).replace(" ", "");
+        try {
+            if (value.endsWith("km")) {
+                return clampRadius(Double.parseDouble(value.substring(0, value.length() - 2)));
+            }
+            if (value.endsWith("m")) {
+                return clampRadius(Double.parseDouble(value.substring(0, value.length() - 1)) / 1000.0);
+            }
+            return clampRadius(Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+            return DEFAULT_RADIUS_KM;
+        }
+    }
+
+    public static double clampRadius(double radiusKm) {
+        if (Double.isNaN(radiusKm)) {
+            return DEFAULT_RADIUS_KM;
+        }
+        return Math.min(Math.max(radiusKm, 0), MAX_RADIUS_KM);
+    }
+
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
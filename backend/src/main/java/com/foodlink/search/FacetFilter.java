@@ -0,0 +1,45 @@
+package com.foodlink.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Selected facet values: OR within a facet, AND across facets
+public class FacetFilter {
+
+    private final Map<String, List<? extends Enum<?>>> selections = new HashMap<>();
+
+    public static FacetFilter none() {
+        return new FacetFilter();
+    }
+
+    public FacetFilter with(String facet, Enum<?>[] values) {
+        if (values != null && values.length > 0) {
+            selections.put(facet, Arrays.asList(values));
+        }
+        return this;
+    }
+
+    public List<? extends Enum<?>> selected(String facet) {
+        return selections.getOrDefault(facet, Collections.emptyList());
+    }
+
+    // Order-independent representation, e.g. "dishCategory=BIRYANI,MOMOS;priceRange=BUDGET"
+    public String cacheKey() {
+        return new TreeMap<>(selections).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue().stream()
+                        .map(Enum::name)
+                        .sorted()
+                        .distinct()
+                        .collect(Collectors.joining(",")))
+                .collect(Collectors.joining(";"));
+    }
+
+    public boolean isEmpty() {
+        return selections.isEmpty();
+    }
+}
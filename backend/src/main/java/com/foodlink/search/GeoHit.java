@@ -0,0 +1,12 @@
+package com.foodlink.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GeoHit {
+
+    private final Long id;
+    private final double distanceKm;
+}
@@ -0,0 +1,143 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import com.foodlink.domain.repository.RecommendationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Fixed-size lat/lng grid over every published recommendation with coordinates.
+// A radius query only visits the cells overlapping the radius' bounding box and
+// then filters and sorts those candidates by haversine distance. The radius is capped at
+// Distances.MAX_RADIUS_KM; near the poles, where that box spans many longitude cells, and
+// across the antimeridian, where it wraps, only the populated cells inside it are visited.
+@Slf4j
+@Component
+public class GeoIndex {
+
+    private final RecommendationRepository recommendationRepository;
+    private final double cellSizeDegrees;
+    private final Map<Long, List<Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+
+    public GeoIndex(RecommendationRepository recommendationRepository,
+                    @Value("${app.search.geo.cell-size-degrees:0.01}") double cellSizeDegrees) {
+        this.recommendationRepository = recommendationRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = recommendationRepository.findPublishedCoordinates();
+        for (Object[] row : rows) {
+            add((Long) row[0], (String) row[1], (BigDecimal) row[2], (BigDecimal) row[3]);
+        }
+        log.info("Geo index loaded {} recommendations into {} cells", entriesById.size(), cells.size());
+    }
+
+    @TransactionalEventListener
+    public void onRecommendationCreated(RecommendationCreatedEvent event) {
+        Recommendation recommendation = event.getRecommendation();
+        if (recommendation.getStatus() == Recommendation.RecommendationStatus.PUBLISHED) {
+            add(recommendation.getId(), event.getCreatorSlug(), recommendation.getLatitude(), recommendation.getLongitude());
+        }
+    }
+
+    public void add(Long id, String creatorSlug, BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        Entry entry = new Entry(id, creatorSlug, latitude.doubleValue(), longitude.doubleValue());
+        if (entriesById.putIfAbsent(id, entry) != null) {
+            return;
+        }
+        cells.computeIfAbsent(cellKey(cellOf(entry.latitude), cellOf(entry.longitude)),
+                k -> new CopyOnWriteArrayList<>()).add(entry);
+    }
+
+    // Nearest-first hits within radiusKm, optionally restricted to one creator
+    public List<GeoHit> within(double latitude, double longitude, double radiusKm, String creatorSlug) {
+        radiusKm = Distances.clampRadius(radiusKm);
+        double latDelta = radiusKm / Distances.KM_PER_DEGREE_LATITUDE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lngDelta = cosLat > 0 ? radiusKm / (Distances.KM_PER_DEGREE_LATITUDE * cosLat) : 360;
+        // A radius reaching over a pole covers every longitude; one crossing ±180 wraps around
+        boolean everyLongitude = lngDelta >= 180 || latitude + latDelta >= 90 || latitude - latDelta <= -90;
+        boolean wraps = longitude - lngDelta < -180 || longitude + lngDelta > 180;
+
+        long minLatCell = cellOf(latitude - latDelta);
+        long maxLatCell = cellOf(latitude + latDelta);
+        long minLngCell = cellOf(longitude - lngDelta);
+        long maxLngCell = cellOf(longitude + lngDelta);
+
+        List<GeoHit> hits = new ArrayList<>();
+        long boxCells = (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+        if (everyLongitude || wraps || boxCells > cells.size()) {
+            for (Map.Entry<Long, List<Entry>> cell : cells.entrySet()) {
+                long latCell = cell.getKey() >> 32;
+                long lngCell = (int) (long) cell.getKey();
+                if (latCell >= minLatCell && latCell <= maxLatCell
+                        && (everyLongitude || inLongitudeBox(lngCell, longitude, lngDelta))) {
+                    collect(cell.getValue(), latitude, longitude, radiusKm, creatorSlug, hits);
+                }
+            }
+        } else {
+            for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (long lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                    List<Entry> bucket = cells.get(cellKey(latCell, lngCell));
+                    if (bucket != null) {
+                        collect(bucket, latitude, longitude, radiusKm, creatorSlug, hits);
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(GeoHit::getDistanceKm));
+        return hits;
+    }
+
+    // Stored longitudes are within ±180, so a wrapped box is also tried shifted a full turn
+    private boolean inLongitudeBox(long lngCell, double longitude, double lngDelta) {
+        for (double shift : new double[]{0, 360, -360}) {
+            if (lngCell >= cellOf(longitude + shift - lngDelta) && lngCell <= cellOf(longitude + shift + lngDelta)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(List<Entry> bucket, double latitude, double longitude, double radiusKm,
+                                String creatorSlug, List<GeoHit> hits) {
+        for (Entry entry : bucket) {
+            if (creatorSlug != null && !creatorSlug.equals(entry.creatorSlug)) {
+                continue;
+            }
+            double distance = Distances.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance <= radiusKm) {
+                hits.add(new GeoHit(entry.id, distance));
+            }
+        }
+    }
+
+    private long cellOf(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long cellKey(long latCell, long lngCell) {
+        return (latCell << 32) ^ (lngCell & 0xffffffffL);
+    }
+
+    private record Entry(Long id, String creatorSlug, double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.repository.RecommendationRepository;
+import com.foodlink.dto.request.SearchRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Fallback for SearchRequest when the Elasticsearch cluster is unreachable. Tag facets are
+// only available from Elasticsearch since they need an UNNEST over the tags array.
+@Component
+public class PostgresSearchBackend {
+
+    // Upper bound on the id IN (...) list; a dense radius is narrowed to its nearest candidates
+    private static final int MAX_GEO_CANDIDATES = 1000;
+
+    private final RecommendationRepository recommendationRepository;
+    private final EntityManager entityManager;
+    private final GeoIndex geoIndex;
+
+    public PostgresSearchBackend(RecommendationRepository recommendationRepository, EntityManager entityManager, GeoIndex geoIndex) {
+        this.recommendationRepository = recommendationRepository;
+        this.entityManager = entityManager;
+        this.geoIndex = geoIndex;
+    }
+
+    public SearchHits search(SearchRequest request, int page, int size) {
+        Specification<Recommendation> specification = RecommendationSpecifications.matching(request);
+
+        // The radius is resolved by the in-memory geo index, never by scanning coordinates in SQL
+        List<GeoHit> geoHits = null;
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            geoHits = geoIndex.within(
+                    request.getLatitude().doubleValue(),
+                    request.getLongitude().doubleValue(),
+                    Distances.parseKilometers(request.getRadius()),
+                    request.getCreatorSlug());
+            if (geoHits.isEmpty()) {
+                return new SearchHits(List.of(), 0, new LinkedHashMap<>());
+            }
+            if (geoHits.size() > MAX_GEO_CANDIDATES) {
+                geoHits = geoHits.subList(0, MAX_GEO_CANDIDATES);
+            }
+            List<Long> nearbyIds = geoHits.stream().map(GeoHit::getId).toList();
+            specification = specification.and((root, query, cb) -> root.get("id").in(nearbyIds));
+        }
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (String facet : SearchFacets.ENUM_FACETS) {
+            facets.put(facet, countBy(specification, facet));
+        }
+        facets.put(SearchFacets.AREA, countBy(specification, SearchFacets.AREA));
+
+        if (geoHits != null && "distance".equals(request.getSortBy())) {
+            return byDistance(specification, geoHits, page, size, facets);
+        }
+
+        Page<Recommendation> results = recommendationRepository.findAll(
+                specification, PageRequest.of(page, size, sortFor(request.getSortBy())));
+        List<Long> ids = results.map(Recommendation::getId).getContent();
+        return new SearchHits(ids, results.getTotalElements(), facets);
+    }
+
+    // Candidates are already bounded by the radius, so filter them in SQL and page in distance order
+    private SearchHits byDistance(Specification<Recommendation> specification, List<GeoHit> geoHits,
+                                  int page, int size, Map<String, Map<String, Long>> facets) {
+        Set<Long> matching = new HashSet<>();
+        for (Recommendation recommendation : recommendationRepository.findAll(specification)) {
+            matching.add(recommendation.getId());
+        }
+        List<Long> ordered = new ArrayList<>(matching.size());
+        for (GeoHit hit : geoHits) {
+            if (matching.contains(hit.getId())) {
+                ordered.add(hit.getId());
+            }
+        }
+        int from = Math.min(page * size, ordered.size());
+        int to = Math.min(from + size, ordered.size());
+        return new SearchHits(new ArrayList<>(ordered.subList(from, to)), ordered.size(), facets);
+    }
+
+    private Map<String, Long> countBy(Specification<Recommendation> specification, String attribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Recommendation> root = query.from(Recommendation.class);
+        Path<Object> path = root.get(attribute);
+
+        query.multiselect(path, cb.count(root))
+                .where(specification.toPredicate(root, query, cb), cb.isNotNull(path))
+                .groupBy(path)
+                .orderBy(cb.desc(cb.count(root)));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            Object key = row[0];
+            counts.put(key instanceof Enum<?> value ? value.name() : String.valueOf(key), (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static Sort sortFor(String sortBy) {
+        if ("popular".equals(sortBy)) {
+            return Sort.by(Sort.Direction.DESC, "viewCount").and(Sort.by(Sort.Direction.DESC, "publishedAt"));
+        }
+        return Sort.by(Sort.Direction.DESC, "publishedAt");
+    }
+}
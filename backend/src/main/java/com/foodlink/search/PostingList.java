@@ -0,0 +1,38 @@
+package com.foodlink.search;
+
+import java.util.Arrays;
+
+// Append-only list of (ordinal, field mask) pairs. Ordinals are assigned in insertion
+// order, so every posting list stays sorted without extra work.
+final class PostingList {
+
+    private int[] ordinals = new int[4];
+    private byte[] fieldMasks = new byte[4];
+    private int size;
+
+    void add(int ordinal, int fieldMask) {
+        if (size > 0 && ordinals[size - 1] == ordinal) {
+            fieldMasks[size - 1] |= (byte) fieldMask;
+            return;
+        }
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+            fieldMasks = Arrays.copyOf(fieldMasks, size * 2);
+        }
+        ordinals[size] = ordinal;
+        fieldMasks[size] = (byte) fieldMask;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int ordinalAt(int index) {
+        return ordinals[index];
+    }
+
+    int fieldMaskAt(int index) {
+        return fieldMasks[index];
+    }
+}
@@ -0,0 +1,154 @@
+package com.foodlink.search;
+
+import com.foodlink.cache.CacheMetrics;
+import com.foodlink.cache.SingleFlight;
+import com.foodlink.cache.WeightedLruCache;
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import com.foodlink.domain.repository.CreatorRepository;
+import com.foodlink.domain.repository.RecommendationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one CreatorSearchIndex per creator slug in a byte-bounded LRU. Indexes are built from the
+// database the first time a creator is searched, once per slug however many searches arrive
+// together, and then kept current from RecommendationCreatedEvent. View counts only order
+// results, so they are re-read at most every view-count-refresh-seconds per index.
+@Slf4j
+@Component
+public class RecommendationSearchEngine {
+
+    // Rough: postings for every edge n-gram of every token dominate
+    private static final long BYTES_PER_DOCUMENT = 4096;
+    private static final long INDEX_OVERHEAD_BYTES = 16 * 1024;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final RecommendationRepository recommendationRepository;
+    private final CreatorRepository creatorRepository;
+    private final WeightedLruCache<String, CreatorSearchIndex> indexes;
+    private final SingleFlight<String, CreatorSearchIndex> loads = new SingleFlight<>();
+    // Moves with every created recommendation; a load that saw it move may have missed a row
+    private final AtomicLong changes = new AtomicLong();
+    private final long viewCountRefreshMillis;
+
+    public RecommendationSearchEngine(RecommendationRepository recommendationRepository,
+                                      CreatorRepository creatorRepository,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.search.index.max-bytes:134217728}") long maxBytes,
+                                      @Value("${app.search.index.view-count-refresh-seconds:300}") long viewCountRefreshSeconds) {
+        this.recommendationRepository = recommendationRepository;
+        this.creatorRepository = creatorRepository;
+        this.indexes = new WeightedLruCache<>(maxBytes, RecommendationSearchEngine::estimateBytes);
+        this.viewCountRefreshMillis = viewCountRefreshSeconds * 1000;
+        CacheMetrics.register(meterRegistry, "search-indexes", indexes);
+    }
+
+    public SearchHits search(String creatorSlug, String query, FacetFilter filter, String sortBy, int offset, int limit) {
+        CreatorSearchIndex index = indexFor(creatorSlug);
+        if (index == null) {
+            return SearchHits.empty();
+        }
+        refreshViewCounts(creatorSlug, index);
+        return index.search(query, filter, sortBy, offset, limit);
+    }
+
+    public List<Suggestion> suggest(String creatorSlug, String prefix, int limit) {
+        CreatorSearchIndex index = indexFor(creatorSlug);
+        if (index == null) {
+            return List.of();
+        }
+        return index.suggest(prefix, Math.min(Math.max(limit, 1), SuggestTrie.MAX_SUGGESTIONS));
+    }
+
+    // Null for slugs that don't exist
+    public CreatorSearchIndex indexFor(String creatorSlug) {
+        CreatorSearchIndex index = indexes.get(creatorSlug);
+        return index != null ? index : loads.load(creatorSlug, () -> loadAndCache(creatorSlug));
+    }
+
+    // Runs before the other after-commit listeners, in particular the CreatorVersions bump:
+    // a search cached under the new version must already see the new document
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRecommendationCreated(RecommendationCreatedEvent event) {
+        if (event.getRecommendation().getStatus() != Recommendation.RecommendationStatus.PUBLISHED) {
+            return;
+        }
+        // Only indexes that are already loaded are updated; unloaded creators pick the row up on
+        // first search. Bumped before the lookup, so a load cached after it sees the bump and
+        // reloads, and add() ignores ids the load already saw.
+        changes.incrementAndGet();
+        CreatorSearchIndex index = indexes.get(event.getCreatorSlug());
+        if (index != null) {
+            index.add(SearchDocument.from(event.getRecommendation(), event.getCreatorSlug()));
+        }
+    }
+
+    private CreatorSearchIndex loadAndCache(String creatorSlug) {
+        // A load that finished just before this flight started already cached it
+        CreatorSearchIndex cached = indexes.get(creatorSlug);
+        if (cached != null) {
+            return cached;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long seen = changes.get();
+            CreatorSearchIndex loaded = load(creatorSlug);
+            // Don't cache empty indexes for slugs that don't exist, or bots can fill the cache
+            if (loaded.size() == 0 && !creatorRepository.existsBySlug(creatorSlug)) {
+                return null;
+            }
+            indexes.put(creatorSlug, loaded);
+            if (changes.get() == seen) {
+                return loaded;
+            }
+            // A recommendation committed while loading may have found nothing to add itself to
+            if (attempt == MAX_LOAD_ATTEMPTS) {
+                indexes.remove(creatorSlug);
+                return loaded;
+            }
+        }
+    }
+
+    private CreatorSearchIndex load(String creatorSlug) {
+        CreatorSearchIndex index = new CreatorSearchIndex();
+        recommendationRepository.findByCreatorSlugAndStatus(
+                creatorSlug,
+                Recommendation.RecommendationStatus.PUBLISHED,
+                Pageable.unpaged()
+        ).forEach(recommendation -> index.add(SearchDocument.from(recommendation, creatorSlug)));
+        return index;
+    }
+
+    private void refreshViewCounts(String creatorSlug, CreatorSearchIndex index) {
+        if (!index.claimViewCountRefresh(System.currentTimeMillis(), viewCountRefreshMillis)) {
+            return;
+        }
+        try {
+            Map<Long, Integer> viewCounts = new HashMap<>();
+            for (Object[] row : recommendationRepository.findViewCountsByCreatorSlugAndStatus(
+                    creatorSlug, Recommendation.RecommendationStatus.PUBLISHED)) {
+                viewCounts.put((Long) row[0], row[1] != null ? (Integer) row[1] : 0);
+            }
+            index.updateViewCounts(viewCounts);
+        } catch (RuntimeException e) {
+            // Ranking on the older counts beats failing the search; the next interval tries again
+            log.warn("Could not refresh view counts for {}: {}", creatorSlug, e.getMessage());
+        }
+    }
+
+    // Fixed when cached; documents added afterwards are not re-weighed
+    private static long estimateBytes(CreatorSearchIndex index) {
+        return INDEX_OVERHEAD_BYTES + index.size() * BYTES_PER_DOCUMENT;
+    }
+}
@@ -0,0 +1,55 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.dto.request.SearchRequest;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Criteria equivalent of RecommendationQueryBuilder, used when Elasticsearch is unavailable
+public final class RecommendationSpecifications {
+
+    private RecommendationSpecifications() {
+    }
+
+    public static Specification<Recommendation> matching(SearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("status"), Recommendation.RecommendationStatus.PUBLISHED));
+
+            if (request.getCreatorSlug() != null && !request.getCreatorSlug().isBlank()) {
+                predicates.add(cb.equal(root.get("creator").get("slug"), request.getCreatorSlug()));
+            }
+            if (request.getQuery() != null && !request.getQuery().isBlank()) {
+                String pattern = "%" + request.getQuery().toLowerCase(Locale.ROOT) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("dishName")), pattern),
+                        cb.like(cb.lower(root.get("restaurantName")), pattern),
+                        cb.like(cb.lower(root.get("area")), pattern)
+                ));
+            }
+            if (request.getCategories() != null && request.getCategories().length > 0) {
+                predicates.add(root.get("dishCategory").in(Arrays.asList(request.getCategories())));
+            }
+            if (request.getPriceRanges() != null && request.getPriceRanges().length > 0) {
+                predicates.add(root.get("priceRange").in(Arrays.asList(request.getPriceRanges())));
+            }
+            if (request.getAreas() != null && request.getAreas().length > 0) {
+                predicates.add(root.get("area").in(Arrays.asList(request.getAreas())));
+            }
+            if (request.getTags() != null && request.getTags().length > 0) {
+                List<Predicate> tagMatches = new ArrayList<>();
+                for (String tag : request.getTags()) {
+                    tagMatches.add(cb.isTrue(cb.function("array_contains", Boolean.class, root.get("tags"), cb.literal(tag))));
+                }
+                predicates.add(cb.or(tagMatches.toArray(new Predicate[0])));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Immutable copy of the recommendation fields the in-memory indexes need.
+// Kept separate from the entity so indexes never hold on to a persistence context.
+@Value
+@Builder
+public class SearchDocument {
+
+    Long id;
+    String creatorSlug;
+    String dishName;
+    String restaurantName;
+    String area;
+    Recommendation.DishCategory dishCategory;
+    Recommendation.CuisineType cuisineType;
+    Recommendation.MealType mealType;
+    Recommendation.PriceRange priceRange;
+    String[] tags;
+    int viewCount;
+    LocalDateTime publishedAt;
+
+    public static SearchDocument from(Recommendation recommendation, String creatorSlug) {
+        return SearchDocument.builder()
+                .id(recommendation.getId())
+                .creatorSlug(creatorSlug)
+                .dishName(recommendation.getDishName())
+                .restaurantName(recommendation.getRestaurantName())
+                .area(recommendation.getArea())
+                .dishCategory(recommendation.getDishCategory())
+                .cuisineType(recommendation.getCuisineType())
+                .mealType(recommendation.getMealType())
+                .priceRange(recommendation.getPriceRange())
+                .tags(recommendation.getTags())
+                .viewCount(recommendation.getViewCount() != null ? recommendation.getViewCount() : 0)
+                .publishedAt(recommendation.getPublishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.foodlink.search;
+
+import java.util.List;
+
+// Facet names returned in SearchResponse.aggregations; they match RecommendationDocument fields.
+public final class SearchFacets {
+
+    public static final String DISH_CATEGORY = "dishCategory";
+    public static final String CUISINE_TYPE = "cuisineType";
+    public static final String MEAL_TYPE = "mealType";
+    public static final String PRICE_RANGE = "priceRange";
+    public static final String AREA = "area";
+    public static final String TAGS = "tags";
+
+    public static final List<String> ENUM_FACETS = List.of(DISH_CATEGORY, CUISINE_TYPE, MEAL_TYPE, PRICE_RANGE);
+
+    private SearchFacets() {
+    }
+}
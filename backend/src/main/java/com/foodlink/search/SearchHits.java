@@ -0,0 +1,24 @@
+package com.foodlink.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+
+    private final List<Long> ids;
+    private final long total;
+    private final Map<String, Map<String, Long>> aggregations;
+
+    public SearchHits(List<Long> ids, long total) {
+        this(ids, total, null);
+    }
+
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.foodlink.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Prefix trie for typeahead. Every node caches its top-K completions, so a lookup is a walk
+// down the prefix plus a copy of at most K entries, independent of how many phrases share it.
+// Phrases are inserted under each word boundary ("chicken momos" and "momos"), so typing any
+// word of a dish or restaurant name completes it. Not thread-safe; CreatorSearchIndex guards it.
+class SuggestTrie {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Completion> BY_WEIGHT = Comparator
+            .comparingLong(Completion::getWeight).reversed()
+            .thenComparing(Completion::getText);
+
+    private final Node root = new Node();
+    private final Map<String, Completion> completions = new HashMap<>();
+
+    // Weights only grow, so a completion can enter a node's top-K but never needs to be recomputed out of it
+    void add(String text, String type, long weight) {
+        List<String> tokens = TextAnalyzer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        String key = type + ':' + String.join(" ", tokens);
+        Completion completion = completions.get(key);
+        if (completion == null) {
+            completion = new Completion(text.trim(), type);
+            completions.put(key, completion);
+        }
+        completion.weight += weight;
+
+        for (int start = 0; start < tokens.size(); start++) {
+            String suffix = String.join(" ", tokens.subList(start, tokens.size()));
+            Node node = root;
+            for (int i = 0; i < suffix.length(); i++) {
+                node = node.children.computeIfAbsent(suffix.charAt(i), c -> new Node());
+                node.offer(completion);
+            }
+        }
+    }
+
+    List<Completion> complete(String prefix, int limit) {
+        String normalized = TextAnalyzer.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.children.get(normalized.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<Completion> top = node.top;
+        return new ArrayList<>(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Completion> top = new ArrayList<>(2);
+
+        void offer(Completion completion) {
+            if (!top.contains(completion)) {
+                if (top.size() >= MAX_SUGGESTIONS
+                        && BY_WEIGHT.compare(completion, top.get(top.size() - 1)) >= 0) {
+                    return;
+                }
+                top.add(completion);
+            }
+            top.sort(BY_WEIGHT);
+            if (top.size() > MAX_SUGGESTIONS) {
+                top.remove(top.size() - 1);
+            }
+        }
+    }
+
+    static final class Completion {
+
+        private final String text;
+        private final String type;
+        private long weight;
+
+        Completion(String text, String type) {
+            this.text = text;
+            this.type = type;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        String getType() {
+            return type;
+        }
+
+        long getWeight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.foodlink.search;
+
+import lombok.Value;
+
+@Value
+public class Suggestion {
+
+    String text;
+    String type;
+    long weight;
+}
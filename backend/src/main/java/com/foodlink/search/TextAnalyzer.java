@@ -0,0 +1,52 @@
+package com.foodlink.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Longer prefixes add postings without improving recall for dish/restaurant names
+    public static final int MAX_PREFIX_LENGTH = 15;
+
+    private TextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        folded = DIACRITICS.matcher(folded).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static List<String> edgeNGrams(String token) {
+        int max = Math.min(token.length(), MAX_PREFIX_LENGTH);
+        List<String> grams = new ArrayList<>(max);
+        for (int i = 1; i <= max; i++) {
+            grams.add(token.substring(0, i));
+        }
+        return grams;
+    }
+}
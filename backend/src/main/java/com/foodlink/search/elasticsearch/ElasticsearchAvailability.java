@@ -0,0 +1,35 @@
+package com.foodlink.search.elasticsearch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Circuit breaker for the search cluster: after a failure, callers skip Elasticsearch
+// for a cool-down period instead of paying a connect timeout on every request.
+@Component
+public class ElasticsearchAvailability {
+
+    private final boolean enabled;
+    private final long retryAfterMs;
+    private final AtomicLong unavailableUntil = new AtomicLong();
+
+    public ElasticsearchAvailability(
+            @Value("${app.search.elasticsearch.enabled:true}") boolean enabled,
+            @Value("${app.search.elasticsearch.retry-after-ms:30000}") long retryAfterMs) {
+        this.enabled = enabled;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public boolean isAvailable() {
+        return enabled && System.currentTimeMillis() >= unavailableUntil.get();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void markFailed() {
+        unavailableUntil.set(System.currentTimeMillis() + retryAfterMs);
+    }
+}
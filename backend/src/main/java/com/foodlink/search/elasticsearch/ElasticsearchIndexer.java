@@ -0,0 +1,164 @@
+package com.foodlink.search.elasticsearch;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import com.foodlink.domain.repository.RecommendationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Asynchronous write path into Elasticsearch. Committed recommendations are queued and
+// bulk-indexed on a short schedule; if the cluster is down the queue is retained (bounded)
+// and retried once ElasticsearchAvailability lets traffic through again. Documents that do
+// not fit the queue are counted and recovered by a full reindex on the next successful flush.
+@Slf4j
+@Component
+public class ElasticsearchIndexer {
+
+    private static final int REINDEX_PAGE_SIZE = 500;
+
+    private final ElasticsearchOperations operations;
+    private final ElasticsearchAvailability availability;
+    private final RecommendationRepository recommendationRepository;
+    private final BlockingQueue<RecommendationDocument> pending;
+    private final int batchSize;
+    private final AtomicBoolean indexReady = new AtomicBoolean();
+    private final AtomicBoolean reindexNeeded = new AtomicBoolean();
+    private final Counter dropped;
+
+    public ElasticsearchIndexer(ElasticsearchOperations operations,
+                                ElasticsearchAvailability availability,
+                                RecommendationRepository recommendationRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.search.elasticsearch.queue-capacity:10000}") int queueCapacity,
+                                @Value("${app.search.elasticsearch.batch-size:200}") int batchSize) {
+        this.operations = operations;
+        this.availability = availability;
+        this.recommendationRepository = recommendationRepository;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.dropped = meterRegistry.counter("foodlink.search.elasticsearch.dropped");
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onRecommendationCreated(RecommendationCreatedEvent event) {
+        if (!availability.isEnabled()) {
+            return;
+        }
+        RecommendationDocument document = RecommendationDocument.from(
+                event.getRecommendation(), event.getCreatorId(), event.getCreatorSlug());
+        if (!pending.offer(document)) {
+            log.warn("Search indexing queue full, dropping recommendation {} until the next reindex", document.getId());
+            markDropped(1);
+        }
+    }
+
+    private void markDropped(int count) {
+        dropped.increment(count);
+        reindexNeeded.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.elasticsearch.flush-interval-ms:1000}")
+    public void flush() {
+        if ((pending.isEmpty() && !reindexNeeded.get()) || !availability.isAvailable()) {
+            return;
+        }
+        List<RecommendationDocument> batch = new ArrayList<>(batchSize);
+        pending.drainTo(batch, batchSize);
+        boolean reindex = false;
+        try {
+            // An index created here (the cluster was down at startup) or a dropped document means
+            // the index is missing rows the queue cannot supply; reindexing from Postgres is idempotent
+            reindex = ensureIndex() | reindexNeeded.getAndSet(false);
+            if (reindex) {
+                reindexAll();
+                reindex = false;
+            }
+            if (!batch.isEmpty()) {
+                operations.save(batch);
+            }
+        } catch (Exception e) {
+            log.warn("Bulk indexing of {} recommendations failed: {}", batch.size(), e.getMessage());
+            availability.markFailed();
+            if (reindex) {
+                reindexNeeded.set(true);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (!pending.offer(batch.get(i))) {
+                    markDropped(batch.size() - i);
+                    break;
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    public void reindexIfIndexMissing() {
+        if (!availability.isEnabled()) {
+            return;
+        }
+        try {
+            if (ensureIndex()) {
+                // Retried by flush() if the reindex does not complete
+                reindexNeeded.set(true);
+                reindexAll();
+                reindexNeeded.set(false);
+            }
+        } catch (Exception e) {
+            log.warn("Elasticsearch unavailable at startup, search falls back to Postgres: {}", e.getMessage());
+            availability.markFailed();
+        }
+    }
+
+    public void reindexAll() {
+        long lastId = 0;
+        List<Recommendation> page;
+        do {
+            page = recommendationRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    Recommendation.RecommendationStatus.PUBLISHED, lastId, PageRequest.of(0, REINDEX_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<RecommendationDocument> documents = new ArrayList<>(page.size());
+            for (Recommendation recommendation : page) {
+                documents.add(RecommendationDocument.from(
+                        recommendation, recommendation.getCreator().getId(), recommendation.getCreator().getSlug()));
+            }
+            operations.save(documents);
+            lastId = page.get(page.size() - 1).getId();
+        } while (page.size() == REINDEX_PAGE_SIZE);
+        log.info("Reindexed recommendations into Elasticsearch up to id {}", lastId);
+    }
+
+    // Returns true when the index had to be created
+    private boolean ensureIndex() {
+        if (indexReady.get()) {
+            return false;
+        }
+        IndexOperations indexOps = operations.indexOps(RecommendationDocument.class);
+        boolean created = false;
+        if (!indexOps.exists()) {
+            created = indexOps.createWithMapping();
+        }
+        indexReady.set(true);
+        return created;
+    }
+}
@@ -0,0 +1,63 @@
+package com.foodlink.search.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import com.foodlink.dto.request.SearchRequest;
+import com.foodlink.search.SearchHits;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ElasticsearchSearchBackend {
+
+    private final ElasticsearchOperations operations;
+    private final RecommendationQueryBuilder queryBuilder;
+
+    public ElasticsearchSearchBackend(ElasticsearchOperations operations, RecommendationQueryBuilder queryBuilder) {
+        this.operations = operations;
+        this.queryBuilder = queryBuilder;
+    }
+
+    public SearchHits search(SearchRequest request, int page, int size) {
+        org.springframework.data.elasticsearch.core.SearchHits<RecommendationDocument> hits =
+                operations.search(queryBuilder.build(request, page, size), RecommendationDocument.class);
+
+        List<Long> ids = new ArrayList<>(hits.getSearchHits().size());
+        for (SearchHit<RecommendationDocument> hit : hits.getSearchHits()) {
+            ids.add(hit.getContent().getId());
+        }
+        return new SearchHits(ids, hits.getTotalHits(), toFacetCounts(hits));
+    }
+
+    private Map<String, Map<String, Long>> toFacetCounts(
+            org.springframework.data.elasticsearch.core.SearchHits<RecommendationDocument> hits) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        if (!(hits.getAggregations() instanceof ElasticsearchAggregations aggregations)) {
+            return facets;
+        }
+        for (String name : RecommendationQueryBuilder.FACET_FIELDS.keySet()) {
+            ElasticsearchAggregation aggregation = aggregations.aggregationsAsMap().get(name);
+            if (aggregation == null) {
+                continue;
+            }
+            Aggregate aggregate = aggregation.aggregation().getAggregate();
+            if (!aggregate.isSterms()) {
+                continue;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+                counts.put(bucket.key().stringValue(), bucket.docCount());
+            }
+            facets.put(name, counts);
+        }
+        return facets;
+    }
+}
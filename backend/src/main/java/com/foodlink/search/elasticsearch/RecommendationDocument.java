@@ -0,0 +1,102 @@
+package com.foodlink.search.elasticsearch;
+
+import com.foodlink.domain.entity.Recommendation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.GeoPointField;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.time.LocalDateTime;
+
+// createIndex is off so the application still starts when the cluster is down;
+// ElasticsearchIndexer creates the index with this mapping once the cluster is reachable.
+@Document(indexName = "recommendations", createIndex = false)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationDocument {
+
+    @Id
+    private Long id;
+
+    @Field(type = FieldType.Long)
+    private Long creatorId;
+
+    @Field(type = FieldType.Keyword)
+    private String creatorSlug;
+
+    @MultiField(mainField = @Field(type = FieldType.Text),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword))
+    private String dishName;
+
+    @MultiField(mainField = @Field(type = FieldType.Text),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword))
+    private String restaurantName;
+
+    @MultiField(mainField = @Field(type = FieldType.Text),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword))
+    private String area;
+
+    @Field(type = FieldType.Keyword)
+    private String city;
+
+    @Field(type = FieldType.Keyword)
+    private String dishCategory;
+
+    @Field(type = FieldType.Keyword)
+    private String cuisineType;
+
+    @Field(type = FieldType.Keyword)
+    private String mealType;
+
+    @Field(type = FieldType.Keyword)
+    private String priceRange;
+
+    @Field(type = FieldType.Keyword)
+    private String[] tags;
+
+    @GeoPointField
+    private GeoPoint location;
+
+    @Field(type = FieldType.Integer)
+    private Integer viewCount;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime publishedAt;
+
+    public static RecommendationDocument from(Recommendation recommendation, Long creatorId, String creatorSlug) {
+        return RecommendationDocument.builder()
+                .id(recommendation.getId())
+                .creatorId(creatorId)
+                .creatorSlug(creatorSlug)
+                .dishName(recommendation.getDishName())
+                .restaurantName(recommendation.getRestaurantName())
+                .area(recommendation.getArea())
+                .city(recommendation.getCity())
+                .dishCategory(nameOf(recommendation.getDishCategory()))
+                .cuisineType(nameOf(recommendation.getCuisineType()))
+                .mealType(nameOf(recommendation.getMealType()))
+                .priceRange(nameOf(recommendation.getPriceRange()))
+                .tags(recommendation.getTags())
+                .location(recommendation.getLatitude() != null && recommendation.getLongitude() != null
+                        ? new GeoPoint(recommendation.getLatitude().doubleValue(), recommendation.getLongitude().doubleValue())
+                        : null)
+                .viewCount(recommendation.getViewCount())
+                .publishedAt(recommendation.getPublishedAt())
+                .build();
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.foodlink.search.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.DistanceUnit;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.foodlink.dto.request.SearchRequest;
+import com.foodlink.search.Distances;
+import com.foodlink.search.SearchFacets;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class RecommendationQueryBuilder {
+
+    private static final int FACET_SIZE = 50;
+
+    // Facet name -> indexed field
+    static final Map<String, String> FACET_FIELDS = new LinkedHashMap<>();
+
+    static {
+        FACET_FIELDS.put(SearchFacets.DISH_CATEGORY, "dishCategory");
+        FACET_FIELDS.put(SearchFacets.CUISINE_TYPE, "cuisineType");
+        FACET_FIELDS.put(SearchFacets.MEAL_TYPE, "mealType");
+        FACET_FIELDS.put(SearchFacets.PRICE_RANGE, "priceRange");
+        FACET_FIELDS.put(SearchFacets.AREA, "area.keyword");
+        FACET_FIELDS.put(SearchFacets.TAGS, "tags");
+    }
+
+    public NativeQuery build(SearchRequest request, int page, int size) {
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(buildQuery(request))
+                .withPageable(PageRequest.of(page, size))
+                .withTrackTotalHits(true);
+
+        FACET_FIELDS.forEach((name, field) ->
+                builder.withAggregation(name, Aggregation.of(a -> a.terms(t -> t.field(field).size(FACET_SIZE)))));
+
+        for (SortOptions sort : buildSort(request)) {
+            builder.withSort(sort);
+        }
+        return builder.build();
+    }
+
+    private Query buildQuery(SearchRequest request) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        if (hasText(request.getCreatorSlug())) {
+            bool.filter(term("creatorSlug", request.getCreatorSlug()));
+        }
+        if (hasText(request.getQuery())) {
+            bool.must(m -> m.multiMatch(mm -> mm
+                    .query(request.getQuery())
+                    .fields("dishName^3", "restaurantName^2", "area")
+                    .fuzziness("AUTO")));
+        }
+        if (request.getCategories() != null && request.getCategories().length > 0) {
+            bool.filter(terms("dishCategory", Arrays.stream(request.getCategories()).map(Enum::name).toList()));
+        }
+        if (request.getPriceRanges() != null && request.getPriceRanges().length > 0) {
+            bool.filter(terms("priceRange", Arrays.stream(request.getPriceRanges()).map(Enum::name).toList()));
+        }
+        if (request.getAreas() != null && request.getAreas().length > 0) {
+            bool.filter(terms("area.keyword", Arrays.asList(request.getAreas())));
+        }
+        if (request.getTags() != null && request.getTags().length > 0) {
+            bool.filter(terms("tags", Arrays.asList(request.getTags())));
+        }
+        if (hasLocation(request)) {
+            double radiusKm = Distances.parseKilometers(request.getRadius());
+            bool.filter(f -> f.geoDistance(g -> g
+                    .field("location")
+                    .distance(radiusKm + "km")
+                    .location(l -> l.latlon(ll -> ll
+                            .lat(request.getLatitude().doubleValue())
+                            .lon(request.getLongitude().doubleValue())))));
+        }
+
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    private List<SortOptions> buildSort(SearchRequest request) {
+        String sortBy = request.getSortBy() != null ? request.getSortBy() : "relevance";
+        return switch (sortBy) {
+            case "newest" -> List.of(fieldSort("publishedAt"));
+            case "popular" -> List.of(fieldSort("viewCount"), fieldSort("publishedAt"));
+            case "distance" -> hasLocation(request)
+                    ? List.of(SortOptions.of(s -> s.geoDistance(g -> g
+                            .field("location")
+                            .location(l -> l.latlon(ll -> ll
+                                    .lat(request.getLatitude().doubleValue())
+                                    .lon(request.getLongitude().doubleValue())))
+                            .order(SortOrder.Asc)
+                            .unit(DistanceUnit.Kilometers))))
+                    : List.of(fieldSort("publishedAt"));
+            default -> List.of(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))), fieldSort("viewCount"));
+        };
+    }
+
+    private static SortOptions fieldSort(String field) {
+        return SortOptions.of(s -> s.field(f -> f.field(field).order(SortOrder.Desc)));
+    }
+
+    private static Query term(String field, String value) {
+        return Query.of(q -> q.term(t -> t.field(field).value(value)));
+    }
+
+    private static Query terms(String field, List<String> values) {
+        List<FieldValue> fieldValues = values.stream().map(FieldValue::of).toList();
+        return Query.of(q -> q.terms(t -> t.field(field).terms(tf -> tf.value(fieldValues))));
+    }
+
+    static boolean hasLocation(SearchRequest request) {
+        return request.getLatitude() != null && request.getLongitude() != null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,5 +1,6 @@
 package com.foodlink.security;
 
+import com.foodlink.cache.CreatorCache;
 import com.foodlink.domain.entity.Creator;
 import com.foodlink.domain.repository.CreatorRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final CreatorRepository creatorRepository;
+    private final CreatorCache creatorCache;
 
     @Override
     @Transactional
@@ -26,13 +28,12 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(creator);
     }
 
-    @Transactional
+    // Runs on every authenticated request (JwtAuthenticationFilter), so it reads through CreatorCache
     public UserDetails loadUserById(Long id) {
-        Creator creator = creatorRepository.findById(id)
+        return creatorCache.findById(id)
+                .map(UserPrincipal::create)
                 .orElseThrow(() ->
                         new UsernameNotFoundException("Creator not found with id: " + id)
                 );
-
-        return UserPrincipal.create(creator);
     }
 }
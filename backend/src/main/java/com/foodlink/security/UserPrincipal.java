@@ -1,5 +1,6 @@
 package com.foodlink.security;
 
+import com.foodlink.cache.CachedCreator;
 import com.foodlink.domain.entity.Creator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -49,6 +50,16 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    // Token-authenticated principal: the JWT was already verified, so no password hash is carried
+    public static UserPrincipal create(CachedCreator creator) {
+        return new UserPrincipal(
+                creator.id(),
+                creator.email(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_CREATOR"))
+        );
+    }
+
     @Override
     public String getUsername() {
         return email;
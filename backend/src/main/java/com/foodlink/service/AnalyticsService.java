@@ -1,58 +1,69 @@
 package com.foodlink.service;
 
-import com.foodlink.domain.entity.AnalyticsEvent;
-import com.foodlink.domain.entity.Creator;
-import com.foodlink.domain.repository.AnalyticsEventRepository;
-import com.foodlink.domain.repository.CreatorRepository;
+import com.foodlink.analytics.AnalyticsEventBuffer;
+import com.foodlink.analytics.IngestedEvent;
 import com.foodlink.dto.request.TrackEventRequest;
-import com.foodlink.exception.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
 
-    private final AnalyticsEventRepository analyticsEventRepository;
-    private final CreatorRepository creatorRepository;
+    private final AnalyticsEventBuffer eventBuffer;
 
-    @Transactional
+    // Only captures the request and enqueues it; AnalyticsEventWriter resolves the creator and
+    // writes in batches, so the beacon never waits on the database
     public void trackEvent(TrackEventRequest request, HttpServletRequest httpRequest) {
-        // Get creator ID from slug if provided (don't fail if not found)
-        Long creatorId = null;
-        if (request.getCreatorSlug() != null && !request.getCreatorSlug().isBlank()) {
-            try {
-                Creator creator = creatorRepository.findBySlug(request.getCreatorSlug())
-                        .orElse(null);
-                if (creator != null) {
-                    creatorId = creator.getId();
-                }
-            } catch (Exception e) {
-                // Log but don't fail - analytics shouldn't break the app
-                System.err.println("Error finding creator for analytics: " + e.getMessage());
-            }
-        }
+        eventBuffer.offer(IngestedEvent.builder()
+                .eventType(request.getEventType())
+                .creatorSlug(request.getCreatorSlug())
+                .recommendationId(request.getRecommendationId())
+                .searchQuery(request.getSearchQuery())
+                .userAgent(httpRequest.getHeader("User-Agent"))
+                .ipAddress(getClientIpAddress(httpRequest))
+                .referrer(httpRequest.getHeader("Referer"))
+                .sessionId(request.getSessionId())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
 
-        try {
-            AnalyticsEvent event = AnalyticsEvent.builder()
-                    .creatorId(creatorId)
-                    .recommendationId(request.getRecommendationId())
+    // One ingestion step for a whole beacon: request headers are read once and each distinct
+    // creator slug is normalized once; slugs are resolved to ids per write batch downstream
+    public int trackEvents(List<TrackEventRequest> requests, HttpServletRequest httpRequest) {
+        String userAgent = httpRequest.getHeader("User-Agent");
+        String ipAddress = getClientIpAddress(httpRequest);
+        String referrer = httpRequest.getHeader("Referer");
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Map<String, String> slugs = new HashMap<>();
+
+        int accepted = 0;
+        for (TrackEventRequest request : requests) {
+            String creatorSlug = request.getCreatorSlug() != null
+                    ? slugs.computeIfAbsent(request.getCreatorSlug(), String::trim)
+                    : null;
+            boolean added = eventBuffer.offer(IngestedEvent.builder()
                     .eventType(request.getEventType())
+                    .creatorSlug(creatorSlug)
+                    .recommendationId(request.getRecommendationId())
                     .searchQuery(request.getSearchQuery())
-                    .userAgent(httpRequest.getHeader("User-Agent"))
-                    .ipAddress(getClientIpAddress(httpRequest))
-                    .referrer(httpRequest.getHeader("Referer"))
+                    .userAgent(userAgent)
+                    .ipAddress(ipAddress)
+                    .referrer(referrer)
                     .sessionId(request.getSessionId())
-                    .build();
-
-            analyticsEventRepository.save(event);
-        } catch (Exception e) {
-            // Log but don't fail - analytics shouldn't break the app
-            System.err.println("Error saving analytics event: " + e.getMessage());
-            e.printStackTrace();
+                    .createdAt(receivedAt)
+                    .build());
+            if (added) {
+                accepted++;
+            }
         }
+        return accepted;
     }
 
     private String getClientIpAddress(HttpServletRequest request) {
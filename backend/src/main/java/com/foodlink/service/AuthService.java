@@ -1,6 +1,8 @@
 package com.foodlink.service;
 
+import com.foodlink.cache.CreatorSlugFilter;
 import com.foodlink.domain.entity.Creator;
+import com.foodlink.domain.event.CreatorProfileChangedEvent;
 import com.foodlink.domain.repository.CreatorRepository;
 import com.foodlink.dto.request.CreatorRegistrationRequest;
 import com.foodlink.dto.request.LoginRequest;
@@ -10,6 +12,7 @@ import com.foodlink.exception.ResourceAlreadyExistsException;
 import com.foodlink.mapper.CreatorMapper;
 import com.foodlink.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -28,13 +31,17 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final CreatorMapper creatorMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CreatorSlugFilter slugFilter;
 
-    public AuthService(CreatorRepository creatorRepository, PasswordEncoder passwordEncoder, AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, CreatorMapper creatorMapper) {
+    public AuthService(CreatorRepository creatorRepository, PasswordEncoder passwordEncoder, AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, CreatorMapper creatorMapper, ApplicationEventPublisher eventPublisher, CreatorSlugFilter slugFilter) {
         this.creatorRepository = creatorRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
         this.creatorMapper = creatorMapper;
+        this.eventPublisher = eventPublisher;
+        this.slugFilter = slugFilter;
     }
 
     @Transactional
@@ -44,7 +51,8 @@ public class AuthService {
             throw new ResourceAlreadyExistsException("Email already registered");
         }
 
-        // Check if username already exists
+        // Check if slug already exists; always asked of the database, since the slug filter on this
+        // node may not have seen a registration on another one yet
         if (creatorRepository.existsBySlug(request.getSlug())) {
             throw new ResourceAlreadyExistsException("Slug already taken");
         }
@@ -69,6 +77,10 @@ public class AuthService {
                 .build();
 
         creator = creatorRepository.save(creator);
+        slugFilter.add(creator.getSlug());
+
+        // Caches and validators that saw this slug as unknown refresh after commit
+        eventPublisher.publishEvent(new CreatorProfileChangedEvent(creator.getId(), creator.getSlug()));
 
         // Authenticate and generate token
         String token = tokenProvider.generateTokenFromUserId(creator.getId());
@@ -0,0 +1,99 @@
+package com.foodlink.service;
+
+import com.foodlink.analytics.AnalyticsRollupReader;
+import com.foodlink.analytics.SearchQueryHeavyHitters;
+import com.foodlink.analytics.UniqueVisitorSketches;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.repository.RecommendationRepository;
+import com.foodlink.dto.response.AnalyticsResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CreatorAnalyticsService {
+
+    private static final int MAX_DAYS = 365;
+    private static final int TOP_RECOMMENDATIONS = 5;
+    private static final int TOP_SEARCH_QUERIES = 10;
+
+    private final AnalyticsRollupReader rollupReader;
+    private final UniqueVisitorSketches visitorSketches;
+    private final SearchQueryHeavyHitters searchQueryHeavyHitters;
+    private final RecommendationRepository recommendationRepository;
+
+    public CreatorAnalyticsService(AnalyticsRollupReader rollupReader, UniqueVisitorSketches visitorSketches, SearchQueryHeavyHitters searchQueryHeavyHitters, RecommendationRepository recommendationRepository) {
+        this.rollupReader = rollupReader;
+        this.visitorSketches = visitorSketches;
+        this.searchQueryHeavyHitters = searchQueryHeavyHitters;
+        this.recommendationRepository = recommendationRepository;
+    }
+
+    // Served from the daily rollups; events newer than the rollup job's last run are not included yet
+    @Transactional(readOnly = true)
+    public AnalyticsResponse getCreatorAnalytics(Long creatorId, int days) {
+        days = Math.min(Math.max(days, 1), MAX_DAYS);
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days - 1L);
+
+        Map<AnalyticsEvent.EventType, Long> totals = rollupReader.totals(creatorId, from, to);
+
+        return AnalyticsResponse.builder()
+                .pageViews(totals.getOrDefault(AnalyticsEvent.EventType.PAGE_VIEW, 0L))
+                .uniqueVisitors(visitorSketches.estimate(creatorId, from, to))
+                .totalSearches(totals.getOrDefault(AnalyticsEvent.EventType.SEARCH, 0L))
+                .topRecommendations(topRecommendations(creatorId, from, to))
+                .topSearchQueries(searchQueryHeavyHitters.topQueries(creatorId, from, to, TOP_SEARCH_QUERIES))
+                .chartData(pageViewChart(creatorId, from, to))
+                .build();
+    }
+
+    private List<AnalyticsResponse.TopRecommendation> topRecommendations(Long creatorId, LocalDate from, LocalDate to) {
+        List<long[]> rows = rollupReader.topRecommendations(creatorId, from, to, TOP_RECOMMENDATIONS);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(row -> row[0]).collect(Collectors.toList());
+        Map<Long, Recommendation> byId = recommendationRepository.findByCreatorIdAndIdIn(creatorId, ids).stream()
+                .collect(Collectors.toMap(Recommendation::getId, Function.identity()));
+
+        List<AnalyticsResponse.TopRecommendation> top = new ArrayList<>(rows.size());
+        for (long[] row : rows) {
+            Recommendation recommendation = byId.get(row[0]);
+            // Deleted since the events were recorded, or not this creator's
+            if (recommendation == null) {
+                continue;
+            }
+            top.add(AnalyticsResponse.TopRecommendation.builder()
+                    .id(recommendation.getId())
+                    .dishName(recommendation.getDishName())
+                    .restaurantName(recommendation.getRestaurantName())
+                    .views((int) row[1])
+                    .instagramClicks((int) row[2])
+                    .build());
+        }
+        return top;
+    }
+
+    // One point per day in the range, zero-filled where the rollups have no row
+    private AnalyticsResponse.ChartData pageViewChart(Long creatorId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> counts = rollupReader.dailyCounts(creatorId, AnalyticsEvent.EventType.PAGE_VIEW, from, to);
+        List<LocalDate> dates = new ArrayList<>();
+        List<Long> pageViews = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            dates.add(date);
+            pageViews.add(counts.getOrDefault(date, 0L));
+        }
+        return AnalyticsResponse.ChartData.builder()
+                .dates(dates)
+                .pageViews(pageViews)
+                .build();
+    }
+}
@@ -1,9 +1,13 @@
 package com.foodlink.service;
 
+import com.foodlink.cache.CachedCreator;
+import com.foodlink.cache.CreatorCache;
 import com.foodlink.domain.entity.Creator;
 import com.foodlink.domain.repository.CreatorRepository;
+import com.foodlink.dto.response.CreatorPageResponse;
 import com.foodlink.dto.response.CreatorPublicResponse;
 import com.foodlink.dto.response.CreatorResponse;
+import com.foodlink.dto.response.RecommendationScrollResponse;
 import com.foodlink.exception.ResourceNotFoundException;
 import com.foodlink.mapper.CreatorMapper;
 import lombok.RequiredArgsConstructor;
@@ -15,20 +19,40 @@ public class CreatorService {
 
     private final CreatorRepository creatorRepository;
     private final CreatorMapper creatorMapper;
+    private final RecommendationService recommendationService;
+    private final CreatorCache creatorCache;
 
-    public CreatorService(CreatorRepository creatorRepository, CreatorMapper creatorMapper) {
+    public CreatorService(CreatorRepository creatorRepository, CreatorMapper creatorMapper, RecommendationService recommendationService, CreatorCache creatorCache) {
         this.creatorRepository = creatorRepository;
         this.creatorMapper = creatorMapper;
+        this.recommendationService = recommendationService;
+        this.creatorCache = creatorCache;
     }
 
-    @Transactional(readOnly = true)
+    // Cache hits return without opening a transaction
     public CreatorPublicResponse getCreatorBySlug(String slug) {
-        Creator creator = creatorRepository.findBySlug(slug)
+        CachedCreator creator = creatorCache.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Creator not found with slug: " + slug));
         
         return creatorMapper.toPublicResponse(creator);
     }
 
+    // Profile plus the first page in at most two statements whatever the page size: the creator by
+    // slug (usually a CreatorCache hit), then the first keyset page with videos joined.
+    // nextCursor continues at /recommendations/scroll.
+    public CreatorPageResponse getCreatorPage(String slug, int size) {
+        CachedCreator creator = creatorCache.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Creator not found with slug: " + slug));
+        RecommendationScrollResponse firstPage = recommendationService.scroll(creator.id(), null, size);
+
+        return CreatorPageResponse.builder()
+                .creator(creatorMapper.toPublicResponse(creator))
+                .recommendations(firstPage.getRecommendations())
+                .hasMore(firstPage.getNextCursor() != null)
+                .nextCursor(firstPage.getNextCursor())
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public CreatorResponse getCreatorProfile(Long creatorId) {
         Creator creator = creatorRepository.findById(creatorId)
@@ -39,16 +63,9 @@ public class CreatorService {
 
     @Transactional
     public void updateStats(Long creatorId, int recommendationsDelta, int pageViewsDelta) {
-        Creator creator = creatorRepository.findById(creatorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Creator not found"));
-        
-        // Handle null values
-        Integer currentRecs = creator.getTotalRecommendations();
-        Integer currentViews = creator.getTotalPageViews();
-        
-        creator.setTotalRecommendations((currentRecs != null ? currentRecs : 0) + recommendationsDelta);
-        creator.setTotalPageViews((currentViews != null ? currentViews : 0) + pageViewsDelta);
-        
-        creatorRepository.save(creator);
+        if (creatorRepository.addStats(creatorId, recommendationsDelta, pageViewsDelta) == 0) {
+            throw new ResourceNotFoundException("Creator not found");
+        }
+        creatorCache.invalidate(creatorId, null);
     }
 }
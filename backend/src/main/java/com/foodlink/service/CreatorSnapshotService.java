@@ -0,0 +1,219 @@
+package com.foodlink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodlink.cache.CacheMetrics;
+import com.foodlink.cache.CreatorVersions;
+import com.foodlink.cache.SingleFlight;
+import com.foodlink.cache.WeightedLruCache;
+import com.foodlink.domain.event.CreatorProfileChangedEvent;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import com.foodlink.dto.response.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+// Fully serialized public creator responses (ApiResponse JSON, plus a gzipped copy for larger
+// bodies), so hot pages skip mapping and Jackson entirely. A snapshot is served while its
+// content version is current; view counters are refreshed in the background once it is older
+// than the ETag counter window, and rebuilt on the request path once it is two windows old.
+// Content changes rebuild the creator's cached snapshots asynchronously after commit.
+@Slf4j
+@Service
+public class CreatorSnapshotService {
+
+    public enum Kind {
+        PROFILE, PAGE, RECOMMENDATIONS
+    }
+
+    private static final int MAX_SNAPSHOT_SIZE = 100;
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    private final CreatorService creatorService;
+    private final RecommendationService recommendationService;
+    private final CreatorVersions creatorVersions;
+    private final ObjectMapper objectMapper;
+    private final WeightedLruCache<Key, Snapshot> cache;
+    private final SingleFlight<Key, Snapshot> builds = new SingleFlight<>();
+    private final ConcurrentMap<String, Set<Key>> keysByCreator = new ConcurrentHashMap<>();
+    private final Set<Key> rebuilding = ConcurrentHashMap.newKeySet();
+    private final ExecutorService rebuilders;
+    private final int snapshotPages;
+    private final int gzipMinBytes;
+    private final long counterWindowMillis;
+
+    public CreatorSnapshotService(CreatorService creatorService,
+                                  RecommendationService recommendationService,
+                                  CreatorVersions creatorVersions,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.snapshots.max-bytes:67108864}") long maxBytes,
+                                  @Value("${app.snapshots.pages:2}") int snapshotPages,
+                                  @Value("${app.snapshots.gzip-min-bytes:1024}") int gzipMinBytes,
+                                  @Value("${app.snapshots.rebuild-threads:2}") int rebuildThreads,
+                                  @Value("${app.http.etag.counter-window-seconds:60}") long counterWindowSeconds) {
+        this.creatorService = creatorService;
+        this.recommendationService = recommendationService;
+        this.creatorVersions = creatorVersions;
+        this.objectMapper = objectMapper;
+        this.cache = new WeightedLruCache<>(maxBytes, CreatorSnapshotService::estimateBytes);
+        this.snapshotPages = snapshotPages;
+        this.gzipMinBytes = gzipMinBytes;
+        this.counterWindowMillis = Math.max(counterWindowSeconds, 1) * 1000;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.rebuilders = Executors.newFixedThreadPool(rebuildThreads, runnable -> {
+            Thread thread = new Thread(runnable, "creator-snapshot-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CacheMetrics.register(meterRegistry, "creator-snapshots", cache);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilders.shutdownNow();
+    }
+
+    public Snapshot profile(String creatorSlug) {
+        return get(new Key(creatorSlug, Kind.PROFILE, 0, 0));
+    }
+
+    public Snapshot page(String creatorSlug, int size) {
+        return get(new Key(creatorSlug, Kind.PAGE, 0, size));
+    }
+
+    public Snapshot recommendations(String creatorSlug, int page, int size) {
+        return get(new Key(creatorSlug, Kind.RECOMMENDATIONS, page, size));
+    }
+
+    private Snapshot get(Key key) {
+        // Deep pages and oversized requests are serialized here too, just not kept
+        if (key.page() >= snapshotPages || key.size() > MAX_SNAPSHOT_SIZE) {
+            return serialize(load(key), creatorVersions.current(key.creatorSlug()));
+        }
+        Snapshot snapshot = cache.get(key);
+        if (snapshot != null && snapshot.version() == creatorVersions.current(key.creatorSlug())) {
+            long age = System.currentTimeMillis() - snapshot.builtAt();
+            if (age < counterWindowMillis) {
+                return snapshot;
+            }
+            if (age < 2 * counterWindowMillis) {
+                scheduleRebuild(key);
+                return snapshot;
+            }
+        }
+        return build(key);
+    }
+
+    private Snapshot build(Key key) {
+        return builds.load(key, () -> {
+            // Read before loading: a concurrent bump leaves the snapshot marked older than its content
+            long version = creatorVersions.current(key.creatorSlug());
+            Snapshot snapshot = serialize(load(key), version);
+            cache.put(key, snapshot);
+            keysByCreator.computeIfAbsent(key.creatorSlug(), slug -> ConcurrentHashMap.newKeySet()).add(key);
+            return snapshot;
+        });
+    }
+
+    private Object load(Key key) {
+        return switch (key.kind()) {
+            case PROFILE -> creatorService.getCreatorBySlug(key.creatorSlug());
+            case PAGE -> creatorService.getCreatorPage(key.creatorSlug(), key.size());
+            case RECOMMENDATIONS -> recommendationService.getPublicRecommendations(key.creatorSlug(), key.page(), key.size());
+        };
+    }
+
+    private Snapshot serialize(Object data, long version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+            byte[] gzipped = json.length >= gzipMinBytes ? gzip(json) : null;
+            return new Snapshot(json, gzipped, version, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize creator snapshot", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @TransactionalEventListener
+    public void onRecommendationCreated(RecommendationCreatedEvent event) {
+        rebuildCreator(event.getCreatorSlug());
+    }
+
+    @TransactionalEventListener
+    public void onCreatorProfileChanged(CreatorProfileChangedEvent event) {
+        rebuildCreator(event.getCreatorSlug());
+    }
+
+    // Only snapshots that are still cached are rebuilt; evicted ones are forgotten here
+    private void rebuildCreator(String creatorSlug) {
+        Set<Key> keys = keysByCreator.get(creatorSlug);
+        if (keys == null) {
+            return;
+        }
+        keys.removeIf(key -> !cache.contains(key));
+        if (keys.isEmpty()) {
+            keysByCreator.remove(creatorSlug, keys);
+            return;
+        }
+        keys.forEach(this::scheduleRebuild);
+    }
+
+    private void scheduleRebuild(Key key) {
+        if (!rebuilding.add(key)) {
+            return;
+        }
+        try {
+            rebuilders.execute(() -> {
+                try {
+                    build(key);
+                } catch (RuntimeException e) {
+                    // The creator may be gone; the stale entry stops matching and is rebuilt or evicted later
+                    cache.remove(key);
+                    log.debug("Snapshot rebuild for {} failed: {}", key, e.getMessage());
+                } finally {
+                    rebuilding.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.remove(key);
+        }
+    }
+
+    private static long estimateBytes(Snapshot snapshot) {
+        return ENTRY_OVERHEAD_BYTES + snapshot.json().length
+                + (snapshot.gzipped() != null ? snapshot.gzipped().length : 0);
+    }
+
+    public record Key(String creatorSlug, Kind kind, int page, int size) {
+    }
+
+    // gzipped is null when the body is too small for compression to pay off
+    public record Snapshot(byte[] json, byte[] gzipped, long version, long builtAt) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.foodlink.service;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.repository.RecommendationRepository;
+import com.foodlink.dto.response.DiscoveryFeedResponse;
+import com.foodlink.dto.response.FeedItemResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+// City-wide "best of" lists across all creators. Ranked top-N lists per city, area and dish
+// category are precomputed on a schedule into an immutable snapshot that requests read from
+// memory; the aggregation over recommendations runs once per refresh, never per request.
+@Slf4j
+@Service
+public class DiscoveryFeedService {
+
+    private static final String ANY = "*";
+
+    private final RecommendationRepository recommendationRepository;
+    private final int listSize;
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(new Snapshot(null, Map.of()));
+
+    public DiscoveryFeedService(RecommendationRepository recommendationRepository,
+                                @Value("${app.feed.list-size:50}") int listSize) {
+        this.recommendationRepository = recommendationRepository;
+        this.listSize = listSize;
+    }
+
+    public DiscoveryFeedResponse getFeed(String city, String area, Recommendation.DishCategory category, int limit) {
+        Snapshot current = snapshot.get();
+        List<FeedItemResponse> items = current.lists().getOrDefault(key(city, area, category), List.of());
+
+        return DiscoveryFeedResponse.builder()
+                .city(city)
+                .area(area)
+                .category(category)
+                .generatedAt(current.generatedAt())
+                .items(items.subList(0, Math.min(Math.max(limit, 0), items.size())))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.feed.refresh-interval-ms:300000}", initialDelay = 0)
+    @Transactional(readOnly = true)
+    public void refresh() {
+        long started = System.currentTimeMillis();
+        List<Object[]> rows = recommendationRepository.findDiscoveryFeedCandidates(listSize);
+
+        // Each candidate row is in the top N of at least one list; sorting and trimming every
+        // list it belongs to leaves exactly the top N per list.
+        Map<String, List<Candidate>> lists = new HashMap<>();
+        for (Object[] row : rows) {
+            Candidate candidate = toCandidate(row);
+            FeedItemResponse item = candidate.item();
+            Recommendation.DishCategory category = item.getDishCategory();
+
+            lists.computeIfAbsent(key(item.getCity(), null, null), k -> new ArrayList<>()).add(candidate);
+            if (item.getArea() != null) {
+                lists.computeIfAbsent(key(item.getCity(), item.getArea(), null), k -> new ArrayList<>()).add(candidate);
+            }
+            if (category != null) {
+                lists.computeIfAbsent(key(item.getCity(), null, category), k -> new ArrayList<>()).add(candidate);
+                if (item.getArea() != null) {
+                    lists.computeIfAbsent(key(item.getCity(), item.getArea(), category), k -> new ArrayList<>()).add(candidate);
+                }
+            }
+        }
+
+        Map<String, List<FeedItemResponse>> ranked = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, candidates) -> {
+            candidates.sort(Comparator.comparingDouble(Candidate::score).reversed()
+                    .thenComparing(candidate -> candidate.item().getId(), Comparator.reverseOrder()));
+            ranked.put(key, candidates.stream()
+                    .limit(listSize)
+                    .map(Candidate::item)
+                    .toList());
+        });
+
+        snapshot.set(new Snapshot(LocalDateTime.now(), Map.copyOf(ranked)));
+        log.info("Discovery feed refreshed: {} lists from {} candidates in {} ms",
+                ranked.size(), rows.size(), System.currentTimeMillis() - started);
+    }
+
+    private static Candidate toCandidate(Object[] row) {
+        FeedItemResponse item = FeedItemResponse.builder()
+                .id(((Number) row[0]).longValue())
+                .creatorSlug((String) row[1])
+                .creatorDisplayName((String) row[2])
+                .dishName((String) row[3])
+                .restaurantName((String) row[4])
+                .city((String) row[5])
+                .area((String) row[6])
+                .dishCategory(row[7] != null ? Recommendation.DishCategory.valueOf((String) row[7]) : null)
+                .priceRange(row[8] != null ? Recommendation.PriceRange.valueOf((String) row[8]) : null)
+                .thumbnailUrl((String) row[9])
+                .viewCount(row[10] != null ? ((Number) row[10]).intValue() : 0)
+                .build();
+        return new Candidate(item, ((Number) row[11]).doubleValue());
+    }
+
+    private static String key(String city, String area, Recommendation.DishCategory category) {
+        return normalize(city) + '|' + normalize(area) + '|' + (category != null ? category.name() : ANY);
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? ANY : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Candidate(FeedItemResponse item, double score) {
+    }
+
+    private record Snapshot(LocalDateTime generatedAt, Map<String, List<FeedItemResponse>> lists) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.foodlink.service;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in a (published_at DESC, id DESC) listing. Clients treat the encoded form as opaque.
+record RecommendationCursor(LocalDateTime publishedAt, Long id) {
+
+    static RecommendationCursor after(Recommendation last) {
+        return new RecommendationCursor(last.getPublishedAt(), last.getId());
+    }
+
+    String encode() {
+        String raw = publishedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RecommendationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new RecommendationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
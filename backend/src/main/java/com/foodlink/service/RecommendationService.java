@@ -1,19 +1,25 @@
 package com.foodlink.service;
 
+import com.foodlink.analytics.EngagementCounter;
+import com.foodlink.analytics.EngagementCounters;
+import com.foodlink.cache.CachedCreator;
+import com.foodlink.cache.CreatorCache;
 import com.foodlink.domain.entity.Creator;
 import com.foodlink.domain.entity.Recommendation;
 import com.foodlink.domain.entity.Restaurant;
 import com.foodlink.domain.entity.Video;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
 import com.foodlink.domain.repository.CreatorRepository;
 import com.foodlink.domain.repository.RecommendationRepository;
 import com.foodlink.domain.repository.RestaurantRepository;
 import com.foodlink.domain.repository.VideoRepository;
 import com.foodlink.dto.request.CreateRecommendationRequest;
 import com.foodlink.dto.response.RecommendationResponse;
+import com.foodlink.dto.response.RecommendationScrollResponse;
 import com.foodlink.exception.ResourceNotFoundException;
 import com.foodlink.mapper.RecommendationMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -27,20 +33,28 @@ import java.util.stream.Collectors;
 @Service
 public class RecommendationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RecommendationRepository recommendationRepository;
     private final CreatorRepository creatorRepository;
     private final VideoRepository videoRepository;
     private final RestaurantRepository restaurantRepository;
     private final RestaurantService restaurantService;
     private final RecommendationMapper recommendationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EngagementCounters engagementCounters;
+    private final CreatorCache creatorCache;
 
-    public RecommendationService(RecommendationRepository recommendationRepository, CreatorRepository creatorRepository, VideoRepository videoRepository, RestaurantRepository restaurantRepository, RestaurantService restaurantService, RecommendationMapper recommendationMapper) {
+    public RecommendationService(RecommendationRepository recommendationRepository, CreatorRepository creatorRepository, VideoRepository videoRepository, RestaurantRepository restaurantRepository, RestaurantService restaurantService, RecommendationMapper recommendationMapper, ApplicationEventPublisher eventPublisher, EngagementCounters engagementCounters, CreatorCache creatorCache) {
         this.recommendationRepository = recommendationRepository;
         this.creatorRepository = creatorRepository;
         this.videoRepository = videoRepository;
         this.restaurantRepository = restaurantRepository;
         this.restaurantService = restaurantService;
         this.recommendationMapper = recommendationMapper;
+        this.eventPublisher = eventPublisher;
+        this.engagementCounters = engagementCounters;
+        this.creatorCache = creatorCache;
     }
 
     @Transactional
@@ -86,18 +100,21 @@ public class RecommendationService {
 
         recommendation = recommendationRepository.save(recommendation);
 
-        // Update creator stats (handle null values)
-        Integer currentCount = creator.getTotalRecommendations();
-        creator.setTotalRecommendations((currentCount != null ? currentCount : 0) + 1);
-        creatorRepository.save(creator);
+        // Atomic increment; rewriting the loaded creator row would race with other writers
+        creatorRepository.addStats(creatorId, 1, 0);
+        creatorRepository.bumpContentVersion(creatorId, LocalDateTime.now());
+
+        // Search indexes and caches update after commit
+        eventPublisher.publishEvent(new RecommendationCreatedEvent(creator.getId(), creator.getSlug(), recommendation));
 
         return recommendationMapper.toResponse(recommendation);
     }
 
+    // Offset listings are kept for compatibility; scroll() avoids the growing OFFSET scan
     @Transactional(readOnly = true)
     public List<RecommendationResponse> getCreatorRecommendations(Long creatorId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "publishedAt"));
-        Page<Recommendation> recommendations = recommendationRepository.findByCreatorIdAndStatus(
+        List<Recommendation> recommendations = recommendationRepository.findByCreatorIdAndStatus(
                 creatorId,
                 Recommendation.RecommendationStatus.PUBLISHED,
                 pageable
@@ -111,7 +128,7 @@ public class RecommendationService {
     @Transactional(readOnly = true)
     public List<RecommendationResponse> getPublicRecommendations(String creatorSlug, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "publishedAt"));
-        Page<Recommendation> recommendations = recommendationRepository.findByCreatorSlugAndStatus(
+        List<Recommendation> recommendations = recommendationRepository.findByCreatorSlugAndStatus(
                 creatorSlug,
                 Recommendation.RecommendationStatus.PUBLISHED,
                 pageable
@@ -122,33 +139,46 @@ public class RecommendationService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    public RecommendationScrollResponse scrollPublicRecommendations(String creatorSlug, String cursor, int size) {
+        CachedCreator creator = creatorCache.findBySlug(creatorSlug)
+                .orElseThrow(() -> new ResourceNotFoundException("Creator not found with slug: " + creatorSlug));
+        return scroll(creator.id(), cursor, size);
+    }
+
+    // Keyset page: one index range scan of size+1 rows past the cursor, no OFFSET and no COUNT.
+    // The extra row only decides whether a next cursor is returned.
+    @Transactional(readOnly = true)
+    public RecommendationScrollResponse scroll(Long creatorId, String cursor, int size) {
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Recommendation> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = recommendationRepository.findPublishedPage(creatorId, limit);
+        } else {
+            RecommendationCursor after = RecommendationCursor.decode(cursor);
+            rows = recommendationRepository.findPublishedPageAfter(creatorId, after.publishedAt(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Recommendation> page = hasMore ? rows.subList(0, size) : rows;
+        return RecommendationScrollResponse.builder()
+                .recommendations(page.stream()
+                        .map(recommendationMapper::toResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? RecommendationCursor.after(page.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    // Clicks are coalesced in memory and flushed as relative UPDATEs; see EngagementCounters
     public void incrementViewCount(Long recommendationId) {
-        Recommendation recommendation = recommendationRepository.findById(recommendationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recommendation not found"));
-        
-        Integer currentCount = recommendation.getViewCount();
-        recommendation.setViewCount((currentCount != null ? currentCount : 0) + 1);
-        recommendationRepository.save(recommendation);
+        engagementCounters.increment(recommendationId, EngagementCounter.VIEWS);
     }
 
-    @Transactional
     public void incrementInstagramClicks(Long recommendationId) {
-        Recommendation recommendation = recommendationRepository.findById(recommendationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recommendation not found"));
-        
-        Integer currentCount = recommendation.getInstagramClicks();
-        recommendation.setInstagramClicks((currentCount != null ? currentCount : 0) + 1);
-        recommendationRepository.save(recommendation);
+        engagementCounters.increment(recommendationId, EngagementCounter.INSTAGRAM_CLICKS);
     }
 
-    @Transactional
     public void incrementMapsClicks(Long recommendationId) {
-        Recommendation recommendation = recommendationRepository.findById(recommendationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recommendation not found"));
-        
-        Integer currentCount = recommendation.getMapsClicks();
-        recommendation.setMapsClicks((currentCount != null ? currentCount : 0) + 1);
-        recommendationRepository.save(recommendation);
+        engagementCounters.increment(recommendationId, EngagementCounter.MAPS_CLICKS);
     }
 }
@@ -0,0 +1,208 @@
+package com.foodlink.service;
+
+import com.foodlink.cache.SearchResultCache;
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.repository.RecommendationRepository;
+import com.foodlink.dto.request.SearchRequest;
+import com.foodlink.dto.response.PaginationInfo;
+import com.foodlink.dto.response.RecommendationResponse;
+import com.foodlink.dto.response.SearchResponse;
+import com.foodlink.dto.response.SuggestionResponse;
+import com.foodlink.mapper.RecommendationMapper;
+import com.foodlink.search.FacetFilter;
+import com.foodlink.search.GeoHit;
+import com.foodlink.search.GeoIndex;
+import com.foodlink.search.PostgresSearchBackend;
+import com.foodlink.search.RecommendationSearchEngine;
+import com.foodlink.search.SearchFacets;
+import com.foodlink.search.SearchHits;
+import com.foodlink.search.elasticsearch.ElasticsearchAvailability;
+import com.foodlink.search.elasticsearch.ElasticsearchSearchBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class SearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final RecommendationSearchEngine searchEngine;
+    private final ElasticsearchSearchBackend elasticsearchBackend;
+    private final ElasticsearchAvailability elasticsearchAvailability;
+    private final PostgresSearchBackend postgresBackend;
+    private final GeoIndex geoIndex;
+    private final RecommendationRepository recommendationRepository;
+    private final RecommendationMapper recommendationMapper;
+    private final SearchResultCache searchResultCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.search.trigram.similarity-threshold:0.4}")
+    private double similarityThreshold;
+
+    public SearchService(RecommendationSearchEngine searchEngine, ElasticsearchSearchBackend elasticsearchBackend, ElasticsearchAvailability elasticsearchAvailability, PostgresSearchBackend postgresBackend, GeoIndex geoIndex, RecommendationRepository recommendationRepository, RecommendationMapper recommendationMapper, SearchResultCache searchResultCache, PlatformTransactionManager transactionManager) {
+        this.searchEngine = searchEngine;
+        this.elasticsearchBackend = elasticsearchBackend;
+        this.elasticsearchAvailability = elasticsearchAvailability;
+        this.postgresBackend = postgresBackend;
+        this.geoIndex = geoIndex;
+        this.recommendationRepository = recommendationRepository;
+        this.recommendationMapper = recommendationMapper;
+        this.searchResultCache = searchResultCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Cache hits return before a transaction (and a pooled connection) is opened; the in-memory
+    // search runs outside one too, which only wraps the database reads after it
+    public SearchResponse searchCreator(String creatorSlug, String query, FacetFilter filter, String sortBy, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        SearchResultCache.Key key = searchResultCache.keyFor(creatorSlug, query, filter, sortBy, safePage, safeSize);
+        SearchResponse cached = searchResultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        SearchHits hits = searchEngine.search(creatorSlug, query, filter, sortBy, safePage * safeSize, safeSize);
+        // Nothing matched exactly or by prefix: retry typo-tolerant before returning an empty page
+        boolean similarity = hits.getTotal() == 0 && query != null && !query.isBlank() && filter.isEmpty();
+        SearchResponse response = readOnlyTransaction.execute(status -> similarity
+                ? similaritySearch(creatorSlug, query, safePage, safeSize)
+                : toResponse(hits, safePage, safeSize));
+        searchResultCache.put(key, response);
+        return response;
+    }
+
+    // Served entirely from the in-memory trie; no transaction or query once the index is loaded
+    public List<SuggestionResponse> suggest(String creatorSlug, String prefix, int limit) {
+        return searchEngine.suggest(creatorSlug, prefix, limit).stream()
+                .map(suggestion -> SuggestionResponse.builder()
+                        .text(suggestion.getText())
+                        .type(suggestion.getType())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Trigram word-similarity search, ranked by the best similarity across dish and restaurant name
+    @Transactional(readOnly = true)
+    public SearchResponse similaritySearch(String creatorSlug, String query, int page, int size) {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        recommendationRepository.setWordSimilarityThreshold(similarityThreshold);
+        Page<Recommendation> results = recommendationRepository.searchBySimilarity(
+                creatorSlug, query.trim(), PageRequest.of(page, size));
+
+        return SearchResponse.builder()
+                .results(results.map(recommendationMapper::toResponse).getContent())
+                .pagination(PaginationInfo.builder()
+                        .total(results.getTotalElements())
+                        .page(page)
+                        .size(size)
+                        .totalPages(results.getTotalPages())
+                        .build())
+                .build();
+    }
+
+    // Faceted search: Elasticsearch first, Postgres when the cluster is down or disabled. No
+    // connection is held while waiting on the cluster; only the Postgres reads run in a transaction.
+    public SearchResponse search(SearchRequest request) {
+        int page = Math.max(request.getPage() != null ? request.getPage() : 0, 0);
+        int size = Math.min(Math.max(request.getSize() != null ? request.getSize() : 20, 1), MAX_PAGE_SIZE);
+
+        SearchHits hits = null;
+        if (elasticsearchAvailability.isAvailable()) {
+            try {
+                hits = elasticsearchBackend.search(request, page, size);
+            } catch (Exception e) {
+                log.warn("Elasticsearch search failed, falling back to Postgres: {}", e.getMessage());
+                elasticsearchAvailability.markFailed();
+            }
+        }
+        if (hits == null && canUseCreatorIndex(request)) {
+            hits = searchEngine.search(request.getCreatorSlug(), request.getQuery(), facetFilterOf(request),
+                    request.getSortBy(), page * size, size);
+        }
+        SearchHits found = hits;
+        return readOnlyTransaction.execute(status -> toResponse(
+                found != null ? found : postgresBackend.search(request, page, size), page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public SearchResponse nearby(double latitude, double longitude, double radiusKm, String creatorSlug, int page, int size) {
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<GeoHit> hits = geoIndex.within(latitude, longitude, radiusKm, creatorSlug);
+
+        int from = Math.min(Math.max(page, 0) * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<GeoHit> pageHits = hits.subList(from, to);
+
+        Map<Long, Double> distances = new HashMap<>();
+        List<Long> ids = new ArrayList<>(pageHits.size());
+        for (GeoHit hit : pageHits) {
+            ids.add(hit.getId());
+            distances.put(hit.getId(), hit.getDistanceKm());
+        }
+
+        SearchResponse response = toResponse(new SearchHits(ids, hits.size()), page, size);
+        response.getResults().forEach(result -> result.setDistanceKm(distances.get(result.getId())));
+        return response;
+    }
+
+    // The creator index covers text, enum facets and sorting; areas, tags and location need a backend
+    private static boolean canUseCreatorIndex(SearchRequest request) {
+        return request.getCreatorSlug() != null && !request.getCreatorSlug().isBlank()
+                && (request.getAreas() == null || request.getAreas().length == 0)
+                && (request.getTags() == null || request.getTags().length == 0)
+                && request.getLatitude() == null && request.getLongitude() == null;
+    }
+
+    private static FacetFilter facetFilterOf(SearchRequest request) {
+        return FacetFilter.none()
+                .with(SearchFacets.DISH_CATEGORY, request.getCategories())
+                .with(SearchFacets.PRICE_RANGE, request.getPriceRanges());
+    }
+
+    private SearchResponse toResponse(SearchHits hits, int page, int size) {
+        return SearchResponse.builder()
+                .results(loadInOrder(hits.getIds()))
+                .pagination(PaginationInfo.builder()
+                        .total(hits.getTotal())
+                        .page(page)
+                        .size(size)
+                        .totalPages(size > 0 ? (int) Math.ceil((double) hits.getTotal() / size) : 0)
+                        .build())
+                .aggregations(hits.getAggregations())
+                .build();
+    }
+
+    // The index only ranks ids; fetch the page in one query and restore the ranked order
+    private List<RecommendationResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Recommendation> byId = recommendationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Recommendation::getId, Function.identity()));
+
+        List<RecommendationResponse> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Recommendation recommendation = byId.get(id);
+            if (recommendation != null) {
+                results.add(recommendationMapper.toResponse(recommendation));
+            }
+        }
+        return results;
+    }
+}
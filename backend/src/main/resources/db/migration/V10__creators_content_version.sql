@@ -0,0 +1,4 @@
+-- What the public creator endpoints return changes with content_version; CreatorEtags builds
+-- their validators from it, so every node behind the load balancer derives the same ETag
+ALTER TABLE creators ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE creators ADD COLUMN content_modified_at TIMESTAMP NOT NULL DEFAULT NOW();
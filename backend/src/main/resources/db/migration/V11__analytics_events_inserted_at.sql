@@ -0,0 +1,6 @@
+-- created_at is the client's event time and says nothing about when the row became visible;
+-- the rollup job waits out its settle lag on inserted_at instead
+ALTER TABLE analytics_events ADD COLUMN inserted_at TIMESTAMP NOT NULL DEFAULT NOW();
+
+-- Nothing reads hourly buckets; the dashboard is served from the daily rollups
+DROP TABLE analytics_hourly_rollups;
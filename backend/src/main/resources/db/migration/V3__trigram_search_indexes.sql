@@ -0,0 +1,12 @@
+-- Typo-tolerant search: trigram GIN indexes let the % / <% operators use an index
+-- instead of scanning every row like LOWER(...) LIKE '%q%' does.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_recommendations_dish_name_trgm
+    ON recommendations USING GIN (dish_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_recommendations_restaurant_name_trgm
+    ON recommendations USING GIN (restaurant_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_restaurants_name_trgm
+    ON restaurants USING GIN (name gin_trgm_ops);
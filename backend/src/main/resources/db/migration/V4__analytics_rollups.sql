@@ -0,0 +1,28 @@
+-- Pre-aggregated event counts for the creator dashboard. recommendation_id is 0 for events
+-- that are not about a recommendation (page views, searches) so it can be part of the key.
+CREATE TABLE analytics_hourly_rollups (
+    creator_id BIGINT NOT NULL,
+    recommendation_id BIGINT NOT NULL DEFAULT 0,
+    event_type VARCHAR(50) NOT NULL,
+    bucket_hour TIMESTAMP NOT NULL,
+    event_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (creator_id, bucket_hour, event_type, recommendation_id)
+);
+
+CREATE TABLE analytics_daily_rollups (
+    creator_id BIGINT NOT NULL,
+    recommendation_id BIGINT NOT NULL DEFAULT 0,
+    event_type VARCHAR(50) NOT NULL,
+    bucket_date DATE NOT NULL,
+    event_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (creator_id, bucket_date, event_type, recommendation_id)
+);
+
+-- Highest analytics_events.id already folded into the rollups
+CREATE TABLE analytics_rollup_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO analytics_rollup_watermarks (name, last_event_id) VALUES ('analytics_rollups', 0);
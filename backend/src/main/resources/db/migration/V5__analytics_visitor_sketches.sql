@@ -0,0 +1,8 @@
+-- One HyperLogLog sketch of distinct visitors per creator and day (see HyperLogLog.toBytes)
+CREATE TABLE analytics_visitor_sketches (
+    creator_id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    sketch BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (creator_id, bucket_date)
+);
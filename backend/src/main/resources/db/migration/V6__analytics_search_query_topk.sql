@@ -0,0 +1,8 @@
+-- Space-Saving summary of the most frequent search queries per creator and day (see SpaceSaving.toBytes)
+CREATE TABLE analytics_search_query_topk (
+    creator_id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    summary BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (creator_id, bucket_date)
+);
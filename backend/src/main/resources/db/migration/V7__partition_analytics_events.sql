@@ -0,0 +1,51 @@
+-- Converts analytics_events to monthly range partitions on created_at. Old months are removed
+-- by detaching/dropping whole partitions (AnalyticsPartitionManager) instead of DELETEs, and
+-- each insert now maintains one partition's indexes. The primary key has to include the
+-- partition key. AnalyticsPartitionManager keeps future months created from here on.
+
+CREATE TABLE analytics_events_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('analytics_events_id_seq'),
+    creator_id BIGINT,
+    recommendation_id BIGINT,
+    event_type VARCHAR(50) NOT NULL,
+    search_query TEXT,
+    user_agent TEXT,
+    ip_address TEXT,
+    referrer TEXT,
+    session_id UUID,
+    user_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- One partition per month from the oldest existing event through three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM analytics_events), NOW()))::DATE;
+    last_month DATE := (date_trunc('month', NOW()) + INTERVAL '3 months')::DATE;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE analytics_events_%s PARTITION OF analytics_events_partitioned FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYY_MM'), month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO analytics_events_partitioned
+    (id, creator_id, recommendation_id, event_type, search_query, user_agent, ip_address, referrer, session_id, user_id, created_at)
+SELECT id, creator_id, recommendation_id, event_type, search_query, user_agent, ip_address, referrer, session_id, user_id,
+       COALESCE(created_at, NOW())
+FROM analytics_events;
+
+-- Keep the id sequence when the old table goes away
+ALTER SEQUENCE analytics_events_id_seq OWNED BY analytics_events_partitioned.id;
+DROP TABLE analytics_events;
+ALTER TABLE analytics_events_partitioned RENAME TO analytics_events;
+
+-- Replaces the four single-column indexes: creator dashboards filter by creator, type and time;
+-- the rollup job reads by id through the primary key
+CREATE INDEX idx_analytics_creator_type_created ON analytics_events (creator_id, event_type, created_at);
+
+-- Lets the rollup job bound its id scan by created_at so it only visits recent partitions
+ALTER TABLE analytics_rollup_watermarks ADD COLUMN last_created_at TIMESTAMP;
@@ -0,0 +1,6 @@
+-- Keyset pagination walks (published_at DESC, id DESC) within a creator's published recommendations
+UPDATE recommendations SET published_at = COALESCE(created_at, NOW())
+WHERE status = 'PUBLISHED' AND published_at IS NULL;
+
+CREATE INDEX idx_recommendations_creator_status_published
+    ON recommendations (creator_id, status, published_at DESC, id DESC);
@@ -0,0 +1,2 @@
+-- CreatorSlugFilter polls for recently registered creators
+CREATE INDEX idx_creators_created_at ON creators(created_at);
@@ -0,0 +1,153 @@
+package com.foodlink.analytics;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CreatorPageViewCountersTest {
+
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 2_000;
+    private static final long CREATORS = 5;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Map<Long, Long> written = new ConcurrentHashMap<>();
+    private volatile boolean databaseDown;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void recordBatchUpdates() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    if (databaseDown) {
+                        throw new IllegalStateException("database down");
+                    }
+                    for (long[] row : (Collection<long[]>) invocation.getArgument(1)) {
+                        written.merge(row[0], row[1], Long::sum);
+                    }
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void writeBehindFlushesEveryViewExactlyOnceUnderConcurrentIngest() throws Exception {
+        CreatorPageViewCounters counters = counters(true);
+        runConcurrently(counters, true);
+        counters.flush();
+
+        assertExactCounts();
+        for (long creatorId = 1; creatorId <= CREATORS; creatorId++) {
+            assertThat(counters.pending(creatorId)).isZero();
+        }
+    }
+
+    @Test
+    void directWritesApplyEveryViewWithoutATransaction() throws Exception {
+        CreatorPageViewCounters counters = counters(false);
+        runConcurrently(counters, false);
+
+        assertExactCounts();
+    }
+
+    @Test
+    void failedFlushKeepsViewsForTheNextFlush() {
+        CreatorPageViewCounters counters = counters(true);
+        counters.onEvents(pageViews());
+        databaseDown = true;
+        counters.flush();
+        assertThat(written).isEmpty();
+        assertThat(counters.pending(1L)).isEqualTo(1);
+
+        databaseDown = false;
+        counters.flush();
+        assertThat(written).containsEntry(1L, 1L).hasSize((int) CREATORS);
+    }
+
+    private CreatorPageViewCounters counters(boolean writeBehind) {
+        return new CreatorPageViewCounters(jdbcTemplate, writeBehind, new SimpleMeterRegistry());
+    }
+
+    // Each ingest thread delivers batches with one page view per creator, while another thread keeps flushing
+    private void runConcurrently(CreatorPageViewCounters counters, boolean flushConcurrently) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean ingesting = new AtomicBoolean(true);
+        List<Thread> ingestThreads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < BATCHES_PER_THREAD; i++) {
+                    counters.onEvents(pageViews());
+                }
+            });
+            thread.start();
+            ingestThreads.add(thread);
+        }
+        Thread flusher = new Thread(() -> {
+            await(start);
+            while (flushConcurrently && ingesting.get()) {
+                counters.flush();
+            }
+        });
+        flusher.start();
+
+        start.countDown();
+        for (Thread thread : ingestThreads) {
+            thread.join();
+        }
+        ingesting.set(false);
+        flusher.join();
+    }
+
+    private void assertExactCounts() {
+        assertThat(written).hasSize((int) CREATORS);
+        for (long creatorId = 1; creatorId <= CREATORS; creatorId++) {
+            assertThat(written.get(creatorId)).as("views for creator %d", creatorId)
+                    .isEqualTo((long) THREADS * BATCHES_PER_THREAD);
+        }
+    }
+
+    private static List<IngestedEvent> pageViews() {
+        List<IngestedEvent> events = new ArrayList<>();
+        for (long creatorId = 1; creatorId <= CREATORS; creatorId++) {
+            events.add(IngestedEvent.builder()
+                    .eventType(AnalyticsEvent.EventType.PAGE_VIEW)
+                    .creatorId(creatorId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            events.add(IngestedEvent.builder()
+                    .eventType(AnalyticsEvent.EventType.INSTAGRAM_CLICK)
+                    .creatorId(creatorId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return events;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
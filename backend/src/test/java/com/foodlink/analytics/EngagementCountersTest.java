@@ -0,0 +1,130 @@
+package com.foodlink.analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EngagementCountersTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 50_000;
+    private static final int RECOMMENDATIONS = 20;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Map<Long, long[]> written = new ConcurrentHashMap<>();
+    private final AtomicInteger batches = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void recordBatchUpdates() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batches.incrementAndGet();
+                    for (long[] row : (Collection<long[]>) invocation.getArgument(1)) {
+                        long[] totals = written.computeIfAbsent(row[row.length - 1], id -> new long[row.length - 1]);
+                        synchronized (totals) {
+                            for (int i = 0; i < totals.length; i++) {
+                                totals[i] += row[i];
+                            }
+                        }
+                    }
+                    return new int[0][];
+                });
+    }
+
+    // Sparse traffic makes cells go idle between flushes, so they are retired while other threads add to them
+    @Test
+    void retiringIdleCellsLosesNoIncrements() throws Exception {
+        EngagementCounters counters = new EngagementCounters(jdbcTemplate, new SimpleMeterRegistry());
+        Map<Long, LongAdder[]> expected = new ConcurrentHashMap<>();
+        EngagementCounter[] types = EngagementCounter.values();
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean ingesting = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    long id = 1 + random.nextInt(RECOMMENDATIONS);
+                    EngagementCounter type = types[random.nextInt(types.length)];
+                    counters.increment(id, type);
+                    expected.computeIfAbsent(id, key -> newAdders(types.length))[type.ordinal()].increment();
+                    if (i % 100 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        Thread flusher = new Thread(() -> {
+            await(start);
+            while (ingesting.get()) {
+                counters.flush();
+            }
+        });
+        flusher.start();
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ingesting.set(false);
+        flusher.join();
+        counters.flush();
+
+        assertThat(written.keySet()).isEqualTo(expected.keySet());
+        expected.forEach((id, adders) -> {
+            for (EngagementCounter type : types) {
+                assertThat(written.get(id)[type.ordinal()]).as("%s for recommendation %d", type, id)
+                        .isEqualTo(adders[type.ordinal()].sum());
+                assertThat(counters.pending(id, type)).isZero();
+            }
+        });
+
+        // Everything was flushed: the next flush retires the cells and writes nothing
+        int before = batches.get();
+        counters.flush();
+        counters.flush();
+        assertThat(batches.get()).isEqualTo(before);
+    }
+
+    private static LongAdder[] newAdders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
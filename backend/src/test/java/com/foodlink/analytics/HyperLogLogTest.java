@@ -0,0 +1,61 @@
+package com.foodlink.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void smallSketchStaysSparse() {
+        HyperLogLog sketch = sketchOf("visitor", 0, 50);
+
+        assertThat(sketch.estimate()).isBetween(48L, 52L);
+        // 2 header bytes, a count and 3 bytes per register: far below the 12 KB dense form
+        assertThat(sketch.toBytes()).hasSizeLessThan(200);
+    }
+
+    @Test
+    void estimateStaysAccurateAcrossTheSwitchToDense() {
+        for (int visitors : new int[]{500, 1_000, 2_000, 50_000}) {
+            HyperLogLog sketch = sketchOf("visitor", 0, visitors);
+            assertThat((double) sketch.estimate()).as("%d visitors", visitors)
+                    .isCloseTo(visitors, within(visitors * 0.03));
+        }
+    }
+
+    @Test
+    void sparseAndDenseSketchesMergeEitherWay() {
+        HyperLogLog sparse = sketchOf("visitor", 0, 100);
+        HyperLogLog dense = sketchOf("visitor", 50, 20_050);
+        long union = sketchOf("visitor", 0, 20_050).estimate();
+
+        HyperLogLog sparseFirst = sparse.copy();
+        sparseFirst.merge(dense);
+        HyperLogLog denseFirst = dense.copy();
+        denseFirst.merge(sparse);
+
+        assertThat(sparseFirst.estimate()).isEqualTo(union);
+        assertThat(denseFirst.estimate()).isEqualTo(union);
+        // merge must not have changed its argument
+        assertThat(sparse.estimate()).isEqualTo(sketchOf("visitor", 0, 100).estimate());
+    }
+
+    @Test
+    void roundTripsThroughBothFormats() {
+        for (int visitors : new int[]{10, 1_000, 100_000}) {
+            HyperLogLog sketch = sketchOf("visitor", 0, visitors);
+            HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+            assertThat(restored.estimate()).as("%d visitors", visitors).isEqualTo(sketch.estimate());
+        }
+    }
+
+    private static HyperLogLog sketchOf(String prefix, int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.offer(prefix + i);
+        }
+        return sketch;
+    }
+}
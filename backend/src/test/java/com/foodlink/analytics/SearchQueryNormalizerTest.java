@@ -0,0 +1,32 @@
+package com.foodlink.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchQueryNormalizerTest {
+
+    @Test
+    void romanizationVariantsShareAKey() {
+        assertSameKey("Paneer Tikka", "panir tika");
+        assertSameKey("keema", "kima");
+        assertSameKey("biriyani", "biryani");
+        assertSameKey("chhole bhature", "chole bhature");
+        assertSameKey("choley", "chole");
+        assertSameKey("rasgulla", "rasgula");
+    }
+
+    @Test
+    void differentDishesKeepDifferentKeys() {
+        assertThat(key("chole")).isNotEqualTo(key("kulcha"));
+        assertThat(key("dal")).isNotEqualTo(key("dahi"));
+    }
+
+    private static void assertSameKey(String first, String second) {
+        assertThat(key(first)).as("%s / %s", first, second).isEqualTo(key(second));
+    }
+
+    private static String key(String query) {
+        return SearchQueryNormalizer.key(SearchQueryNormalizer.label(query));
+    }
+}
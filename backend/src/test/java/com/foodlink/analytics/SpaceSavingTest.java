@@ -0,0 +1,117 @@
+package com.foodlink.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void newKeyTakesOverTheSmallestCounterAndInheritsItAsError() {
+        SpaceSaving summary = new SpaceSaving(2);
+        offer(summary, "biryani", 3);
+        offer(summary, "momos", 1);
+        offer(summary, "chole", 1);
+
+        assertThat(counter(summary, "biryani")).containsExactly(3, 0);
+        assertThat(counter(summary, "chole")).containsExactly(2, 1);
+        assertThat(summary.top(10)).extracting(SpaceSaving.Counter::getKey).doesNotContain("momos");
+    }
+
+    @Test
+    void keyOnlyOneSideTracksGetsTheOtherSidesMinimum() {
+        SpaceSaving first = new SpaceSaving(2);
+        offer(first, "biryani", 5);
+        offer(first, "momos", 3);
+        SpaceSaving second = new SpaceSaving(2);
+        offer(second, "chole", 4);
+        offer(second, "kulfi", 2);
+
+        first.merge(second);
+
+        // momos and kulfi end at 5 each, below the two kept
+        assertThat(first.top(10)).extracting(SpaceSaving.Counter::getKey).containsExactly("biryani", "chole");
+        assertThat(counter(first, "biryani")).containsExactly(7, 2);
+        assertThat(counter(first, "chole")).containsExactly(7, 3);
+    }
+
+    @Test
+    void summaryThatIsNotFullAddsNothing() {
+        SpaceSaving first = new SpaceSaving(5);
+        offer(first, "biryani", 2);
+        SpaceSaving second = new SpaceSaving(5);
+        offer(second, "chole", 1);
+
+        first.merge(second);
+
+        assertThat(counter(first, "biryani")).containsExactly(2, 0);
+        assertThat(counter(first, "chole")).containsExactly(1, 0);
+    }
+
+    // Several nodes' daily summaries merged at checkpoint: the bounds must hold for the union
+    @Test
+    void mergedSummariesKeepTheirBoundsAndHeavyHitters() {
+        int capacity = 20;
+        Random random = new Random(42);
+        Map<String, Long> truth = new HashMap<>();
+        SpaceSaving merged = new SpaceSaving(capacity);
+        long total = 0;
+        for (int node = 0; node < 4; node++) {
+            SpaceSaving summary = new SpaceSaving(capacity);
+            for (int i = 0; i < 20_000; i++) {
+                // A few heavy queries, each node with its own mix, over a long tail
+                String key = random.nextInt(100) < 30
+                        ? "heavy-" + random.nextInt(3 + node)
+                        : "tail-" + random.nextInt(5_000);
+                summary.offer(key, key);
+                truth.merge(key, 1L, Long::sum);
+                total++;
+            }
+            merged.merge(summary);
+        }
+
+        List<SpaceSaving.Counter> tracked = merged.top(capacity);
+        for (SpaceSaving.Counter counter : tracked) {
+            long actual = truth.getOrDefault(counter.getKey(), 0L);
+            assertThat(actual).as(counter.getKey()).isBetween(counter.getCount() - counter.getError(), counter.getCount());
+        }
+        long threshold = total / capacity;
+        truth.forEach((key, count) -> {
+            if (count > threshold) {
+                assertThat(tracked).extracting(SpaceSaving.Counter::getKey).as("count %d", count).contains(key);
+            }
+        });
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        SpaceSaving summary = new SpaceSaving(2);
+        offer(summary, "biryani", 3);
+        offer(summary, "momos", 1);
+        offer(summary, "chole", 1);
+
+        SpaceSaving restored = SpaceSaving.fromBytes(summary.toBytes());
+
+        assertThat(counter(restored, "biryani")).containsExactly(3, 0);
+        assertThat(counter(restored, "chole")).containsExactly(2, 1);
+    }
+
+    private static void offer(SpaceSaving summary, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            summary.offer(key, key);
+        }
+    }
+
+    private static long[] counter(SpaceSaving summary, String key) {
+        return summary.top(Integer.MAX_VALUE).stream()
+                .filter(counter -> counter.getKey().equals(key))
+                .map(counter -> new long[]{counter.getCount(), counter.getError()})
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.foodlink.analytics.archive;
+
+import com.foodlink.domain.entity.AnalyticsEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsArchiveReaderTest {
+
+    private static final long CREATOR = 42L;
+    private static final LocalDateTime JAN_1 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void countsOnlyTheCreatorsRowsOfTheTypeInRange() throws Exception {
+        AnalyticsArchiveReader reader = readerWithJanuaryAndFebruary();
+
+        assertThat(reader.countEvents(CREATOR, AnalyticsEvent.EventType.PAGE_VIEW, JAN_1, JAN_1.plusMonths(2)))
+                .isEqualTo(4);
+        // from is inclusive, to exclusive
+        assertThat(reader.countEvents(CREATOR, AnalyticsEvent.EventType.PAGE_VIEW, JAN_1.plusHours(10), JAN_1.plusDays(1)))
+                .isEqualTo(1);
+        assertThat(reader.countEvents(CREATOR, AnalyticsEvent.EventType.SAVE, JAN_1, JAN_1.plusMonths(2))).isZero();
+        assertThat(reader.countEvents(7L, AnalyticsEvent.EventType.PAGE_VIEW, JAN_1, JAN_1.plusMonths(2))).isEqualTo(1);
+        assertThat(reader.countEvents(null, AnalyticsEvent.EventType.SEARCH, JAN_1, JAN_1.plusMonths(2))).isEqualTo(1);
+        assertThat(reader.countEvents(99L, AnalyticsEvent.EventType.PAGE_VIEW, JAN_1, JAN_1.plusMonths(2))).isZero();
+    }
+
+    @Test
+    void dailyCountsSpanSegments() throws Exception {
+        AnalyticsArchiveReader reader = readerWithJanuaryAndFebruary();
+
+        Map<LocalDate, Long> daily = reader.dailyEventCounts(CREATOR, AnalyticsEvent.EventType.PAGE_VIEW,
+                JAN_1, JAN_1.plusMonths(2));
+
+        assertThat(daily).containsExactly(
+                Map.entry(LocalDate.of(2025, 1, 1), 2L),
+                Map.entry(LocalDate.of(2025, 1, 31), 1L),
+                Map.entry(LocalDate.of(2025, 2, 3), 1L));
+    }
+
+    @Test
+    void topSearchQueriesAreMostFrequentFirst() throws Exception {
+        AnalyticsArchiveReader reader = readerWithJanuaryAndFebruary();
+
+        List<Object[]> top = reader.topSearchQueries(CREATOR, JAN_1, JAN_1.plusMonths(2), 2);
+
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0)).containsExactly("chole", 3L);
+        assertThat(top.get(1)).containsExactly("biryani", 2L);
+    }
+
+    @Test
+    void segmentWrittenAfterStartupIsScannedOnceRegistered() throws Exception {
+        AnalyticsArchiveReader reader = new AnalyticsArchiveReader(directory.toString());
+        Path path = write("analytics_events_2025_01", List.of(event(1, CREATOR, JAN_1.plusHours(1), "PAGE_VIEW", null)));
+
+        assertThat(reader.isArchived(path.getFileName().toString())).isFalse();
+        reader.register(path);
+
+        assertThat(reader.isArchived(path.getFileName().toString())).isTrue();
+        assertThat(reader.countEvents(CREATOR, AnalyticsEvent.EventType.PAGE_VIEW, JAN_1, JAN_1.plusDays(1))).isEqualTo(1);
+    }
+
+    private AnalyticsArchiveReader readerWithJanuaryAndFebruary() throws Exception {
+        write("analytics_events_2025_01", List.of(
+                event(1, null, JAN_1.plusDays(2), "SEARCH", "momos"),
+                event(2, 7L, JAN_1.plusDays(3), "PAGE_VIEW", null),
+                event(3, CREATOR, JAN_1.plusHours(9), "PAGE_VIEW", null),
+                event(4, CREATOR, JAN_1.plusHours(10), "PAGE_VIEW", null),
+                event(5, CREATOR, JAN_1.plusDays(4), "SEARCH", "chole"),
+                event(6, CREATOR, JAN_1.plusDays(5), "SEARCH", "biryani"),
+                event(7, CREATOR, JAN_1.plusDays(6), "SEARCH", "chole"),
+                event(8, CREATOR, JAN_1.plusDays(30), "PAGE_VIEW", null)));
+        write("analytics_events_2025_02", List.of(
+                event(9, CREATOR, JAN_1.plusMonths(1).plusDays(2), "PAGE_VIEW", null),
+                event(10, CREATOR, JAN_1.plusMonths(1).plusDays(3), "SEARCH", "chole"),
+                event(11, CREATOR, JAN_1.plusMonths(1).plusDays(4), "SEARCH", "biryani"),
+                event(12, CREATOR, JAN_1.plusMonths(1).plusDays(5), "SEARCH", "kulfi")));
+        return new AnalyticsArchiveReader(directory.toString());
+    }
+
+    private Path write(String partition, List<ArchivedEvent> events) throws Exception {
+        Path path = directory.resolve(partition + AnalyticsArchiveReader.SEGMENT_SUFFIX);
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(path)) {
+            for (ArchivedEvent event : events) {
+                writer.add(event);
+            }
+        }
+        return path;
+    }
+
+    private static ArchivedEvent event(long id, Long creatorId, LocalDateTime createdAt, String eventType, String query) {
+        return new ArchivedEvent(id, creatorId, AnalyticsArchiveReader.toMillis(createdAt), eventType, null, query,
+                null, null, null, null, null);
+    }
+}
@@ -0,0 +1,152 @@
+package com.foodlink.analytics.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveSegmentTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void varLongsAndZigZagRoundTrip() {
+        long[] values = {0, 1, -1, 127, 128, -129, 1L << 35, Long.MAX_VALUE, Long.MIN_VALUE};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : values) {
+            ArchiveFormat.writeVarLong(out, ArchiveFormat.zigZag(value));
+        }
+        ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        for (long value : values) {
+            assertThat(ArchiveFormat.unZigZag(ArchiveFormat.readVarLong(in))).isEqualTo(value);
+        }
+        assertThat(in.hasRemaining()).isFalse();
+        // Small deltas of either sign stay one byte
+        assertThat(ArchiveFormat.zigZag(-63)).isLessThan(128);
+    }
+
+    @Test
+    void columnsReadBackAsWritten() throws Exception {
+        List<ArchivedEvent> events = events();
+        ArchiveSegment segment = ArchiveSegment.open(write(events));
+
+        assertColumns(segment, events);
+    }
+
+    // The same file mapped in windows of a few groups, as a segment over 2 GB would be
+    @Test
+    void segmentMappedInWindowsReadsTheSame() throws Exception {
+        List<ArchivedEvent> events = events();
+        Path path = write(events);
+        long largestGroup = largestGroupBytes(path);
+
+        assertColumns(ArchiveSegment.open(path, largestGroup), events);
+        assertColumns(ArchiveSegment.open(path, largestGroup * 2 + 1), events);
+    }
+
+    @Test
+    void groupsAreCutPerCreatorAndAtMaxGroupRows() throws Exception {
+        List<ArchivedEvent> events = new ArrayList<>();
+        events.add(event(1, null, 0, "PAGE_VIEW", null));
+        for (int i = 0; i < ArchiveFormat.MAX_GROUP_ROWS + 5; i++) {
+            events.add(event(10 + i, 7L, i, "SEARCH", null));
+        }
+        ArchiveSegment segment = ArchiveSegment.open(write(events));
+
+        assertThat(segment.groupCount()).isEqualTo(3);
+        assertThat(segment.creatorId(0)).isEqualTo(ArchiveFormat.NULL_CREATOR);
+        assertThat(segment.firstGroup(7)).isEqualTo(1);
+        assertThat(segment.rowCount(1)).isEqualTo(ArchiveFormat.MAX_GROUP_ROWS);
+        assertThat(segment.rowCount(2)).isEqualTo(5);
+        assertThat(segment.minCreatedAt(2)).isEqualTo(ArchiveFormat.MAX_GROUP_ROWS);
+        assertThat(segment.firstGroup(8)).isEqualTo(-1);
+    }
+
+    @Test
+    void fileWithoutTrailerIsRejected() throws Exception {
+        Path path = directory.resolve("broken.fseg");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> ArchiveSegment.open(path)).hasMessageContaining("Not an archive segment");
+    }
+
+    private static void assertColumns(ArchiveSegment segment, List<ArchivedEvent> events) {
+        int row = 0;
+        for (int group = 0; group < segment.groupCount(); group++) {
+            long[] ids = segment.deltaColumn(group, ArchiveFormat.ID);
+            long[] createdAt = segment.deltaColumn(group, ArchiveFormat.CREATED_AT);
+            ArchiveSegment.DictionaryColumn types = segment.dictionaryColumn(group, ArchiveFormat.EVENT_TYPE);
+            ArchiveSegment.DictionaryColumn queries = segment.dictionaryColumn(group, ArchiveFormat.SEARCH_QUERY);
+            for (int i = 0; i < ids.length; i++, row++) {
+                ArchivedEvent expected = events.get(row);
+                assertThat(ids[i]).isEqualTo(expected.id());
+                assertThat(createdAt[i]).isEqualTo(expected.createdAtMillis());
+                assertThat(value(types, i)).isEqualTo(expected.eventType());
+                assertThat(value(queries, i)).isEqualTo(expected.searchQuery());
+            }
+        }
+        assertThat(row).isEqualTo(events.size());
+    }
+
+    private static String value(ArchiveSegment.DictionaryColumn column, int row) {
+        int code = column.codes()[row];
+        return code == 0 ? null : column.entries()[code - 1];
+    }
+
+    // Groups run from their first chunk to the next group's first chunk, the last one to the directory
+    private static long largestGroupBytes(Path path) throws Exception {
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        int directoryOffset = (int) file.getLong(file.capacity() - ArchiveFormat.TRAILER_BYTES);
+        int groupCount = file.getInt(file.capacity() - ArchiveFormat.TRAILER_BYTES + 8);
+        long largest = 0;
+        for (int group = 0; group < groupCount; group++) {
+            long start = file.getLong(directoryOffset + group * ArchiveFormat.DIRECTORY_ENTRY_BYTES + 28);
+            long end = group + 1 < groupCount
+                    ? file.getLong(directoryOffset + (group + 1) * ArchiveFormat.DIRECTORY_ENTRY_BYTES + 28)
+                    : directoryOffset;
+            largest = Math.max(largest, end - start);
+        }
+        return largest;
+    }
+
+    private Path write(List<ArchivedEvent> events) throws Exception {
+        Path path = directory.resolve("2025_01" + AnalyticsArchiveReader.SEGMENT_SUFFIX);
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(path)) {
+            for (ArchivedEvent event : events) {
+                writer.add(event);
+            }
+        }
+        return path;
+    }
+
+    // Ordered by creator (nulls first) and created_at, like the archiver's query
+    private static List<ArchivedEvent> events() {
+        List<ArchivedEvent> events = new ArrayList<>();
+        long id = 1_000;
+        events.add(event(id++, null, 5 * DAY, "PAGE_VIEW", null));
+        for (long creator = 1; creator <= 12; creator++) {
+            for (int i = 0; i < 40; i++) {
+                boolean search = i % 3 == 0;
+                events.add(event(id += 7, creator, i * DAY / 4, search ? "SEARCH" : "PAGE_VIEW",
+                        search ? "biryani " + (i % 4) : null));
+            }
+        }
+        return events;
+    }
+
+    private static ArchivedEvent event(long id, Long creatorId, long createdAtMillis, String eventType, String query) {
+        return new ArchivedEvent(id, creatorId, createdAtMillis, eventType, null, query,
+                "Mozilla/5.0", "10.0.0.1", null, null, null);
+    }
+}
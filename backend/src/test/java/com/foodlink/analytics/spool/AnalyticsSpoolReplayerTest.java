@@ -0,0 +1,93 @@
+package com.foodlink.analytics.spool;
+
+import com.foodlink.analytics.AnalyticsEventPersister;
+import com.foodlink.analytics.IngestedEvent;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AnalyticsSpoolReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    private final AnalyticsEventPersister persister = mock(AnalyticsEventPersister.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // e.g. an event dated before the oldest partition fails the whole insert
+    @Test
+    void rejectedBatchIsSplitAndOnlyTheRejectedEventsAreDiscarded() throws Exception {
+        List<String> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<IngestedEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> event.getSearchQuery().startsWith("rejected"))) {
+                throw new DataIntegrityViolationException("no partition of relation \"analytics_events\" found for row");
+            }
+            events.forEach(event -> written.add(event.getSearchQuery()));
+            return events;
+        }).when(persister).persist(anyList());
+        AnalyticsSpool spool = spool();
+        spool.append(events("ok-a", "rejected-1", "ok-b", "ok-c", "ok-d", "rejected-2", "ok-e"));
+
+        replay(spool);
+
+        assertThat(written).containsExactly("ok-a", "ok-b", "ok-c", "ok-d", "ok-e");
+        assertThat(meterRegistry.counter("foodlink.analytics.spool.discarded").count()).isEqualTo(2);
+        assertThat(spool.read(100).events()).isEmpty();
+    }
+
+    @Test
+    void batchStaysSpooledWhenTheDatabaseGoesAwayWhileSplitting() throws Exception {
+        int[] calls = {0};
+        doAnswer(invocation -> {
+            if (calls[0]++ == 0) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            throw new CannotGetJdbcConnectionException("connection refused");
+        }).when(persister).persist(anyList());
+        AnalyticsSpool spool = spool();
+        spool.append(events("ok-a", "rejected-1", "ok-b"));
+
+        replay(spool);
+
+        assertThat(meterRegistry.counter("foodlink.analytics.spool.discarded").count()).isZero();
+        assertThat(spool.read(100).events()).hasSize(3);
+    }
+
+    private AnalyticsSpool spool() throws Exception {
+        return new AnalyticsSpool(directory.toString(), 64 * 1024, 1024 * 1024, false, meterRegistry);
+    }
+
+    // stop() drains what is spooled before returning
+    private void replay(AnalyticsSpool spool) {
+        AnalyticsSpoolReplayer replayer = new AnalyticsSpoolReplayer(spool, persister, 500, 10, 60_000, meterRegistry);
+        replayer.start();
+        replayer.stop();
+    }
+
+    private static List<IngestedEvent> events(String... queries) {
+        List<IngestedEvent> events = new ArrayList<>();
+        for (String query : queries) {
+            events.add(IngestedEvent.builder()
+                    .eventType(AnalyticsEvent.EventType.SEARCH)
+                    .creatorSlug("delhifoodie")
+                    .searchQuery(query)
+                    .createdAt(LocalDateTime.of(2026, 10, 1, 12, 0))
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,100 @@
+package com.foodlink.analytics.spool;
+
+import com.foodlink.analytics.IngestedEvent;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsSpoolTest {
+
+    private static final int EVENTS_PER_SEGMENT = 6;
+
+    @TempDir
+    Path directory;
+
+    // Two segments at most; the second batch would need a second and a third
+    @Test
+    void batchThatFillsTheSpoolPartwayIsNotWrittenAtAll() throws Exception {
+        AnalyticsSpool spool = spool(2);
+
+        assertThat(spool.append(events("first", 4))).isTrue();
+        assertThat(spool.append(events("overflow", 10))).isFalse();
+
+        List<IngestedEvent> spooled = spool.read(100).events();
+        assertThat(spooled).hasSize(4).allMatch(event -> event.getSearchQuery().startsWith("first"));
+        assertThat(segmentFiles()).isEqualTo(1);
+    }
+
+    @Test
+    void batchRollsIntoNewSegmentsWhileThereIsRoom() throws Exception {
+        AnalyticsSpool spool = spool(3);
+
+        assertThat(spool.append(events("first", 4))).isTrue();
+        assertThat(spool.append(events("second", 10))).isTrue();
+
+        List<IngestedEvent> spooled = spool.read(100).events();
+        assertThat(spooled).hasSize(14);
+        assertThat(spooled.get(4).getSearchQuery()).isEqualTo(query("second", 0));
+        assertThat(spooled.get(13).getSearchQuery()).isEqualTo(query("second", 9));
+        assertThat(segmentFiles()).isEqualTo(3);
+    }
+
+    @Test
+    void eventLargerThanASegmentIsRejected() throws Exception {
+        AnalyticsSpool spool = spool(4);
+        List<IngestedEvent> batch = new ArrayList<>(events("small", 2));
+        batch.add(event("x".repeat(2 * segmentSize())));
+
+        assertThat(spool.append(batch)).isFalse();
+        assertThat(spool.read(100).events()).isEmpty();
+    }
+
+    private AnalyticsSpool spool(int maxSegments) throws Exception {
+        return new AnalyticsSpool(directory.toString(), segmentSize(), (long) maxSegments * segmentSize(),
+                false, new SimpleMeterRegistry());
+    }
+
+    // Holds exactly EVENTS_PER_SEGMENT test events
+    private static int segmentSize() {
+        int record = SpoolSegment.RECORD_OVERHEAD + IngestedEventCodec.encode(event(query("first", 0))).length;
+        return SpoolSegment.HEADER_BYTES + EVENTS_PER_SEGMENT * record;
+    }
+
+    private static List<IngestedEvent> events(String prefix, int count) {
+        List<IngestedEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(event(query(prefix, i)));
+        }
+        return events;
+    }
+
+    // Fixed width, so every test event encodes to the same size
+    private static String query(String prefix, int i) {
+        return String.format("%-8s-%02d", prefix, i);
+    }
+
+    private static IngestedEvent event(String query) {
+        return IngestedEvent.builder()
+                .eventType(AnalyticsEvent.EventType.SEARCH)
+                .creatorSlug("delhifoodie")
+                .searchQuery(query)
+                .createdAt(LocalDateTime.of(2026, 10, 1, 12, 0))
+                .build();
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".spool")).count();
+        }
+    }
+}
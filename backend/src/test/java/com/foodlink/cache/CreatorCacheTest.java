@@ -0,0 +1,70 @@
+package com.foodlink.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodlink.domain.entity.Creator;
+import com.foodlink.domain.repository.CreatorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CreatorCacheTest {
+
+    private final CreatorRepository creatorRepository = mock(CreatorRepository.class);
+    private final CreatorCache cache = new CreatorCache(creatorRepository, new InMemorySharedCacheTier(100),
+            new ObjectMapper(), new SimpleMeterRegistry(), 1 << 20, 60, 300);
+
+    @Test
+    void loadOverlappingAnotherCreatorsInvalidationIsStored() throws Exception {
+        blockLoadWhile("viral", () -> cache.invalidate(2L, "other"));
+
+        cache.findBySlug("viral");
+        verify(creatorRepository, times(1)).findBySlug("viral");
+    }
+
+    @Test
+    void loadOverlappingItsOwnInvalidationIsNotStored() throws Exception {
+        blockLoadWhile("viral", () -> cache.invalidate(1L, "viral"));
+
+        cache.findBySlug("viral");
+        verify(creatorRepository, times(2)).findBySlug("viral");
+    }
+
+    @Test
+    void invalidationWithUnknownSlugDiscardsRunningLoads() throws Exception {
+        blockLoadWhile("viral", () -> cache.invalidate(1L, null));
+
+        cache.findBySlug("viral");
+        verify(creatorRepository, times(2)).findBySlug("viral");
+    }
+
+    // Runs a first load of the slug and invalidates while it is reading Postgres
+    private void blockLoadWhile(String slug, Runnable invalidation) throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        when(creatorRepository.findBySlug(slug)).thenAnswer(invocation -> {
+            reading.countDown();
+            invalidated.await(5, TimeUnit.SECONDS);
+            return Optional.of(Creator.builder().id(1L).slug(slug).username(slug).build());
+        });
+
+        CompletableFuture<Optional<CachedCreator>> load = CompletableFuture.supplyAsync(() -> cache.findBySlug(slug));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        invalidation.run();
+        invalidated.countDown();
+        assertThat(load.get(5, TimeUnit.SECONDS)).isPresent();
+
+        doReturn(Optional.of(Creator.builder().id(1L).slug(slug).username(slug).build()))
+                .when(creatorRepository).findBySlug(slug);
+    }
+}
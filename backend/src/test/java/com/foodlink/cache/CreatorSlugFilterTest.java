@@ -0,0 +1,62 @@
+package com.foodlink.cache;
+
+import com.foodlink.domain.repository.CreatorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CreatorSlugFilterTest {
+
+    private final CreatorRepository creatorRepository = mock(CreatorRepository.class);
+
+    @BeforeEach
+    void creators() {
+        when(creatorRepository.findAllSlugs()).thenReturn(List.of("delhifoodie"));
+        // Registered on another node after the filter was built
+        when(creatorRepository.findSlugsCreatedSince(any(LocalDateTime.class))).thenReturn(List.of("new-creator"));
+    }
+
+    @Test
+    void staleFilterRefreshesBeforeRulingOutASlug() throws Exception {
+        CreatorSlugFilter filter = builtFilter(1);
+        Thread.sleep(10);
+
+        assertThat(filter.mightExist("new-creator")).isTrue();
+        assertThat(filter.mightExist("delhifoodie")).isTrue();
+        assertThat(filter.mightExist("no-such-creator")).isFalse();
+    }
+
+    @Test
+    void freshFilterAnswersWithoutAQuery() {
+        CreatorSlugFilter filter = builtFilter(60_000);
+
+        assertThat(filter.mightExist("no-such-creator")).isFalse();
+        verify(creatorRepository, never()).findSlugsCreatedSince(any(LocalDateTime.class));
+    }
+
+    @Test
+    void failedRefreshLetsTheSlugThrough() throws Exception {
+        CreatorSlugFilter filter = builtFilter(1);
+        when(creatorRepository.findSlugsCreatedSince(any(LocalDateTime.class))).thenThrow(new IllegalStateException("down"));
+        Thread.sleep(10);
+
+        assertThat(filter.mightExist("no-such-creator")).isTrue();
+    }
+
+    private CreatorSlugFilter builtFilter(long negativeMaxAgeMillis) {
+        CreatorSlugFilter filter = new CreatorSlugFilter(creatorRepository, new SimpleMeterRegistry(),
+                0.01, 1000, 60, negativeMaxAgeMillis);
+        filter.onStartup();
+        return filter;
+    }
+}
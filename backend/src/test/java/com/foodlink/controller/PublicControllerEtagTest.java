@@ -0,0 +1,77 @@
+package com.foodlink.controller;
+
+import com.foodlink.analytics.EventBatchParser;
+import com.foodlink.cache.CreatorEtags;
+import com.foodlink.cache.CreatorSlugFilter;
+import com.foodlink.service.AnalyticsService;
+import com.foodlink.service.CreatorSnapshotService;
+import com.foodlink.service.DiscoveryFeedService;
+import com.foodlink.service.RecommendationService;
+import com.foodlink.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PublicControllerEtagTest {
+
+    private static final String ETAG = "\"1a-2b\"";
+    private static final String GZIP_ETAG = "\"1a-2b-gzip\"";
+
+    private final CreatorEtags creatorEtags = mock(CreatorEtags.class);
+    private final CreatorSnapshotService creatorSnapshots = mock(CreatorSnapshotService.class);
+    private final CreatorSlugFilter creatorSlugFilter = mock(CreatorSlugFilter.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void controller() {
+        when(creatorEtags.of(anyString())).thenReturn(new CreatorEtags.Validators(ETAG, 0));
+        when(creatorSlugFilter.mightExist(anyString())).thenReturn(true);
+        byte[] json = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+        when(creatorSnapshots.profile(anyString())).thenReturn(
+                new CreatorSnapshotService.Snapshot(json, new byte[]{31, -117, 8}, 1, 0));
+        mockMvc = MockMvcBuilders.standaloneSetup(new PublicController(mock(RecommendationService.class),
+                mock(AnalyticsService.class), mock(SearchService.class), mock(DiscoveryFeedService.class),
+                mock(EventBatchParser.class), creatorEtags, creatorSnapshots, creatorSlugFilter)).build();
+    }
+
+    @Test
+    void gzipAndIdentityBodiesGetDifferentTags() throws Exception {
+        mockMvc.perform(get("/api/v1/public/creators/delhifoodie").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, GZIP_ETAG));
+        mockMvc.perform(get("/api/v1/public/creators/delhifoodie"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void eitherTagRevalidates() throws Exception {
+        mockMvc.perform(get("/api/v1/public/creators/delhifoodie")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, GZIP_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, GZIP_ETAG));
+        // Stored before the client started accepting gzip
+        mockMvc.perform(get("/api/v1/public/creators/delhifoodie")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+        mockMvc.perform(get("/api/v1/public/creators/delhifoodie")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,92 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreatorSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Test
+    void everyTokenMustMatchAsAPrefixAndDishMatchesRankFirst() {
+        CreatorSearchIndex index = new CreatorSearchIndex();
+        index.add(document(1, "Chicken Biryani", "Karim's", "Jama Masjid", Recommendation.DishCategory.BIRYANI, 0));
+        index.add(document(2, "Mutton Korma", "Biryani Blues", "Saket", Recommendation.DishCategory.OTHER, 0));
+        index.add(document(3, "Chicken Momos", "Dolma Aunty", "Lajpat Nagar", Recommendation.DishCategory.MOMOS, 0));
+
+        assertThat(index.search("biry", FacetFilter.none(), null, 0, 10).getIds()).containsExactly(1L, 2L);
+        assertThat(index.search("chick momo", FacetFilter.none(), null, 0, 10).getIds()).containsExactly(3L);
+        assertThat(index.search("chicken pizza", FacetFilter.none(), null, 0, 10).getTotal()).isZero();
+        // No query matches everything
+        assertThat(index.search("", FacetFilter.none(), null, 0, 10).getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void facetCountsIgnoreTheirOwnSelection() {
+        CreatorSearchIndex index = new CreatorSearchIndex();
+        index.add(document(1, "Chicken Biryani", "Karim's", null, Recommendation.DishCategory.BIRYANI, 0));
+        index.add(document(2, "Veg Biryani", "Al Jawahar", null, Recommendation.DishCategory.BIRYANI, 0));
+        index.add(document(3, "Chicken Momos", "Dolma Aunty", null, Recommendation.DishCategory.MOMOS, 0));
+
+        FacetFilter momosOnly = FacetFilter.none()
+                .with(SearchFacets.DISH_CATEGORY, new Recommendation.DishCategory[]{Recommendation.DishCategory.MOMOS});
+        SearchHits hits = index.search("", momosOnly, null, 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(3L);
+        assertThat(hits.getAggregations().get(SearchFacets.DISH_CATEGORY))
+                .containsExactly(Map.entry("BIRYANI", 2L), Map.entry("MOMOS", 1L));
+    }
+
+    @Test
+    void popularOrderFollowsRefreshedViewCounts() {
+        CreatorSearchIndex index = new CreatorSearchIndex();
+        index.add(document(1, "Chicken Biryani", "Karim's", null, Recommendation.DishCategory.BIRYANI, 50));
+        index.add(document(2, "Veg Biryani", "Al Jawahar", null, Recommendation.DishCategory.BIRYANI, 10));
+        assertThat(index.search("", FacetFilter.none(), "popular", 0, 10).getIds()).containsExactly(1L, 2L);
+
+        index.updateViewCounts(Map.of(2L, 80, 99L, 1_000));
+
+        assertThat(index.search("", FacetFilter.none(), "popular", 0, 10).getIds()).containsExactly(2L, 1L);
+        // Equal relevance falls back to views
+        assertThat(index.search("biryani", FacetFilter.none(), null, 0, 10).getIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void addingAnIdTwiceKeepsOneDocument() {
+        CreatorSearchIndex index = new CreatorSearchIndex();
+        index.add(document(1, "Chicken Biryani", "Karim's", null, Recommendation.DishCategory.BIRYANI, 0));
+        index.add(document(1, "Chicken Biryani", "Karim's", null, Recommendation.DishCategory.BIRYANI, 0));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.suggest("chi", 10)).extracting(Suggestion::getWeight).containsExactly(1L);
+    }
+
+    @Test
+    void viewCountRefreshIsClaimedOncePerInterval() {
+        CreatorSearchIndex index = new CreatorSearchIndex();
+        long now = System.currentTimeMillis();
+
+        assertThat(index.claimViewCountRefresh(now, 60_000)).isFalse();
+        assertThat(index.claimViewCountRefresh(now + 60_000, 60_000)).isTrue();
+        assertThat(index.claimViewCountRefresh(now + 60_001, 60_000)).isFalse();
+    }
+
+    static SearchDocument document(long id, String dish, String restaurant, String area,
+                                   Recommendation.DishCategory category, int viewCount) {
+        return SearchDocument.builder()
+                .id(id)
+                .creatorSlug("delhifoodie")
+                .dishName(dish)
+                .restaurantName(restaurant)
+                .area(area)
+                .dishCategory(category)
+                .viewCount(viewCount)
+                .publishedAt(NOW.minusDays(id))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.repository.RecommendationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GeoIndexTest {
+
+    // Connaught Place, central Delhi
+    private static final double CP_LAT = 28.6315;
+    private static final double CP_LNG = 77.2167;
+
+    private final GeoIndex index = new GeoIndex(mock(RecommendationRepository.class), 0.01);
+
+    @Test
+    void returnsHitsInsideTheRadiusNearestFirst() {
+        add(1, "delhifoodie", 28.6129, 77.2295);   // India Gate, ~2.4 km
+        add(2, "delhifoodie", 28.6506, 77.2334);   // Chandni Chowk, ~2.6 km
+        add(3, "delhifoodie", 28.6320, 77.2170);   // next door
+        add(4, "delhifoodie", 28.5245, 77.1855);   // Qutub Minar, ~12 km
+
+        List<GeoHit> hits = index.within(CP_LAT, CP_LNG, 5, null);
+
+        assertThat(hits).extracting(GeoHit::getId).containsExactly(3L, 1L, 2L);
+        assertThat(hits.get(0).getDistanceKm()).isLessThan(0.1);
+        assertThat(index.within(CP_LAT, CP_LNG, 15, null)).extracting(GeoHit::getId).contains(4L);
+    }
+
+    @Test
+    void filtersByCreatorAndIgnoresRepeatsAndMissingCoordinates() {
+        add(1, "delhifoodie", 28.6320, 77.2170);
+        add(1, "delhifoodie", 28.6320, 77.2170);
+        add(2, "mumbaieats", 28.6321, 77.2171);
+        index.add(3L, "delhifoodie", null, BigDecimal.ONE);
+
+        assertThat(index.within(CP_LAT, CP_LNG, 1, "delhifoodie")).extracting(GeoHit::getId).containsExactly(1L);
+        assertThat(index.within(CP_LAT, CP_LNG, 1, null)).hasSize(2);
+    }
+
+    @Test
+    void radiusIsCapped() {
+        add(1, "delhifoodie", 28.5245, 77.1855);
+        add(2, "jaipurbites", 26.9124, 75.7873);   // ~235 km
+
+        assertThat(index.within(CP_LAT, CP_LNG, 1_000, null)).extracting(GeoHit::getId).containsExactly(1L);
+    }
+
+    // Across the pole every longitude is in range, and across ±180 the box wraps
+    @Test
+    void boxWrapsOverThePoleAndTheAntimeridian() {
+        add(1, "svalbard", 89.9, 10.0);
+        add(2, "svalbard", 89.9, -170.0);
+        add(3, "fiji", -17.0, -179.99);
+
+        assertThat(index.within(89.95, 0.0, 50, null)).extracting(GeoHit::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.within(-17.0, 179.99, 5, null)).extracting(GeoHit::getId).containsExactly(3L);
+    }
+
+    private void add(long id, String creatorSlug, double latitude, double longitude) {
+        index.add(id, creatorSlug, BigDecimal.valueOf(latitude), BigDecimal.valueOf(longitude));
+    }
+}
@@ -0,0 +1,148 @@
+package com.foodlink.search;
+
+import com.foodlink.domain.entity.Recommendation;
+import com.foodlink.domain.event.RecommendationCreatedEvent;
+import com.foodlink.domain.repository.CreatorRepository;
+import com.foodlink.domain.repository.RecommendationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RecommendationSearchEngineTest {
+
+    private static final Recommendation.RecommendationStatus PUBLISHED = Recommendation.RecommendationStatus.PUBLISHED;
+
+    private final RecommendationRepository recommendationRepository = mock(RecommendationRepository.class);
+    private final CreatorRepository creatorRepository = mock(CreatorRepository.class);
+
+    @Test
+    void concurrentSearchesLoadTheIndexOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(recommendation(1, "Chicken Biryani", 0));
+        }).when(recommendationRepository).findByCreatorSlugAndStatus(eq("delhifoodie"), eq(PUBLISHED), any());
+        RecommendationSearchEngine engine = engine(1 << 20, 300);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SearchHits>> searches = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                searches.add(pool.submit(() -> engine.search("delhifoodie", "biryani", FacetFilter.none(), null, 0, 10)));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (Future<SearchHits> search : searches) {
+                assertThat(search.get(5, TimeUnit.SECONDS).getIds()).containsExactly(1L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(recommendationRepository, times(1)).findByCreatorSlugAndStatus(eq("delhifoodie"), eq(PUBLISHED), any());
+    }
+
+    @Test
+    void unknownSlugsAreNotCached() {
+        doReturn(List.of()).when(recommendationRepository).findByCreatorSlugAndStatus(anyString(), eq(PUBLISHED), any());
+        RecommendationSearchEngine engine = engine(1 << 20, 300);
+
+        assertThat(engine.indexFor("nobody")).isNull();
+        assertThat(engine.indexFor("nobody")).isNull();
+
+        verify(recommendationRepository, times(2)).findByCreatorSlugAndStatus(eq("nobody"), eq(PUBLISHED), any());
+    }
+
+    // The row committed after the load read its snapshot, and its event found no cached index yet
+    @Test
+    void recommendationCreatedDuringTheLoadIsNotLost() {
+        RecommendationSearchEngine engine = engine(1 << 20, 300);
+        Recommendation created = recommendation(2, "Veg Biryani", 0);
+        int[] loads = {0};
+        doAnswer(invocation -> {
+            if (loads[0]++ == 0) {
+                engine.onRecommendationCreated(new RecommendationCreatedEvent(7L, "delhifoodie", created));
+                return List.of(recommendation(1, "Chicken Biryani", 0));
+            }
+            return List.of(recommendation(1, "Chicken Biryani", 0), created);
+        }).when(recommendationRepository).findByCreatorSlugAndStatus(eq("delhifoodie"), eq(PUBLISHED), any());
+
+        assertThat(engine.search("delhifoodie", "biryani", FacetFilter.none(), "newest", 0, 10).getIds())
+                .containsExactly(1L, 2L);
+        assertThat(loads[0]).isEqualTo(2);
+    }
+
+    @Test
+    void loadedIndexPicksUpNewRecommendations() {
+        doReturn(List.of(recommendation(1, "Chicken Biryani", 0)))
+                .when(recommendationRepository).findByCreatorSlugAndStatus(eq("delhifoodie"), eq(PUBLISHED), any());
+        RecommendationSearchEngine engine = engine(1 << 20, 300);
+        engine.indexFor("delhifoodie");
+
+        engine.onRecommendationCreated(new RecommendationCreatedEvent(7L, "delhifoodie", recommendation(2, "Veg Biryani", 0)));
+
+        assertThat(engine.search("delhifoodie", "veg", FacetFilter.none(), null, 0, 10).getIds()).containsExactly(2L);
+        verify(recommendationRepository, times(1)).findByCreatorSlugAndStatus(eq("delhifoodie"), eq(PUBLISHED), any());
+    }
+
+    @Test
+    void leastRecentlyUsedIndexIsEvictedPastTheByteBound() {
+        doReturn(List.of(recommendation(1, "Chicken Biryani", 0)))
+                .when(recommendationRepository).findByCreatorSlugAndStatus(anyString(), eq(PUBLISHED), any());
+        // Room for one single-document index
+        RecommendationSearchEngine engine = engine(32 * 1024, 300);
+
+        engine.indexFor("first");
+        engine.indexFor("second");
+        engine.indexFor("first");
+
+        verify(recommendationRepository, times(2)).findByCreatorSlugAndStatus(eq("first"), eq(PUBLISHED), any());
+    }
+
+    @Test
+    void popularOrderUsesRefreshedViewCounts() {
+        doReturn(List.of(recommendation(1, "Chicken Biryani", 50), recommendation(2, "Veg Biryani", 10)))
+                .when(recommendationRepository).findByCreatorSlugAndStatus(eq("delhifoodie"), eq(PUBLISHED), any());
+        doReturn(List.<Object[]>of(new Object[]{1L, 50}, new Object[]{2L, 90}))
+                .when(recommendationRepository).findViewCountsByCreatorSlugAndStatus("delhifoodie", PUBLISHED);
+        RecommendationSearchEngine engine = engine(1 << 20, 0);
+
+        assertThat(engine.search("delhifoodie", "", FacetFilter.none(), "popular", 0, 10).getIds())
+                .containsExactly(2L, 1L);
+    }
+
+    private RecommendationSearchEngine engine(long maxBytes, long viewCountRefreshSeconds) {
+        return new RecommendationSearchEngine(recommendationRepository, creatorRepository, new SimpleMeterRegistry(),
+                maxBytes, viewCountRefreshSeconds);
+    }
+
+    private static Recommendation recommendation(long id, String dishName, int viewCount) {
+        return Recommendation.builder()
+                .id(id)
+                .dishName(dishName)
+                .restaurantName("Karim's")
+                .status(PUBLISHED)
+                .viewCount(viewCount)
+                .publishedAt(LocalDateTime.of(2026, 10, 1, 12, 0).minusDays(id))
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.foodlink.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SuggestTrieTest {
+
+    @Test
+    void completesFromAnyWordOfThePhrase() {
+        SuggestTrie trie = new SuggestTrie();
+        trie.add("Chicken Momos", "DISH", 1);
+
+        assertThat(trie.complete("chi", 10)).extracting(SuggestTrie.Completion::getText).containsExactly("Chicken Momos");
+        assertThat(trie.complete("MOM", 10)).extracting(SuggestTrie.Completion::getText).containsExactly("Chicken Momos");
+        assertThat(trie.complete("chicken m", 10)).hasSize(1);
+        assertThat(trie.complete("hicken", 10)).isEmpty();
+        assertThat(trie.complete("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void heavierCompletionsComeFirstAndWeightsAccumulate() {
+        SuggestTrie trie = new SuggestTrie();
+        trie.add("Butter Chicken", "DISH", 5);
+        trie.add("Bun Maska", "DISH", 3);
+        trie.add("Bun Maska", "DISH", 4);
+        trie.add("Bun Maska", "RESTAURANT", 1);
+
+        assertThat(trie.complete("bu", 10)).extracting(SuggestTrie.Completion::getText, SuggestTrie.Completion::getWeight)
+                .containsExactly(
+                        tuple("Bun Maska", 7L),
+                        tuple("Butter Chicken", 5L),
+                        tuple("Bun Maska", 1L));
+        assertThat(trie.complete("bu", 2)).hasSize(2);
+    }
+
+    @Test
+    void keepsTheTopSuggestionsPerPrefix() {
+        SuggestTrie trie = new SuggestTrie();
+        for (int i = 0; i < SuggestTrie.MAX_SUGGESTIONS + 5; i++) {
+            trie.add("Kulfi " + i, "DISH", i + 1);
+        }
+
+        assertThat(trie.complete("kul", 100)).hasSize(SuggestTrie.MAX_SUGGESTIONS)
+                .first().extracting(SuggestTrie.Completion::getText).isEqualTo("Kulfi " + (SuggestTrie.MAX_SUGGESTIONS + 4));
+    }
+}
@@ -0,0 +1,88 @@
+package com.foodlink.service;
+
+import com.foodlink.cache.CreatorCache;
+import com.foodlink.dto.response.CreatorPageResponse;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The creator page must cost the same number of statements for 1 or 50 recommendations:
+// one for the creator, one for the page with videos joined. A lazy association read by the
+// mapper would show up here as one extra statement per recommendation. Hibernate's statistics
+// count every thread, so the scheduled slug filter refresh is kept out of the way.
+@SpringBootTest(properties = {
+        "app.search.elasticsearch.enabled=false",
+        "app.analytics.spool.dir=${java.io.tmpdir}/foodlink-test-spool",
+        "app.creators.slug-filter.refresh-interval-ms=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureEmbeddedDatabase(provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+class CreatorPageQueryCountTest {
+
+    private static final String SLUG = "query-count-creator";
+    private static final int RECOMMENDATIONS = 50;
+
+    @Autowired
+    private CreatorService creatorService;
+
+    @Autowired
+    private CreatorCache creatorCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long creatorId;
+
+    @BeforeEach
+    void seedCreatorWithVideos() {
+        creatorId = jdbcTemplate.query("SELECT id FROM creators WHERE slug = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, SLUG);
+        if (creatorId != null) {
+            return;
+        }
+        creatorId = jdbcTemplate.queryForObject("INSERT INTO creators (username, email, password_hash, display_name, slug) " +
+                "VALUES ('querycount', 'querycount@example.com', 'x', 'Query Count', ?) RETURNING id", Long.class, SLUG);
+        for (int i = 1; i <= RECOMMENDATIONS; i++) {
+            Long videoId = jdbcTemplate.queryForObject("INSERT INTO videos (creator_id, instagram_url, thumbnail_url) " +
+                    "VALUES (?, ?, ?) RETURNING id", Long.class,
+                    creatorId, "https://instagram.com/p/" + i, "https://cdn.example.com/" + i + ".jpg");
+            jdbcTemplate.update("INSERT INTO recommendations (creator_id, video_id, dish_name, restaurant_name, status, published_at) " +
+                    "VALUES (?, ?, ?, ?, 'PUBLISHED', NOW() - make_interval(mins => ?))",
+                    creatorId, videoId, "Dish " + i, "Restaurant " + i, i);
+        }
+    }
+
+    @Test
+    void creatorPageStatementCountDoesNotGrowWithPageSize() {
+        long single = statementsForPage(1);
+        long full = statementsForPage(RECOMMENDATIONS);
+
+        assertThat(single).isEqualTo(2);
+        assertThat(full).isEqualTo(single);
+    }
+
+    // Starts from a cold creator cache, so the creator lookup is counted every time
+    private long statementsForPage(int size) {
+        creatorCache.invalidate(creatorId, SLUG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CreatorPageResponse page = creatorService.getCreatorPage(SLUG, size);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(page.getRecommendations()).hasSize(size)
+                .allSatisfy(recommendation -> assertThat(recommendation.getThumbnailUrl()).isNotNull());
+        return statements;
+    }
+}
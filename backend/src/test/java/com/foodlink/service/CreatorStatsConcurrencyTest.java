@@ -0,0 +1,128 @@
+package com.foodlink.service;
+
+import com.foodlink.analytics.CreatorPageViewCounters;
+import com.foodlink.analytics.IngestedEvent;
+import com.foodlink.domain.entity.AnalyticsEvent;
+import com.foodlink.dto.request.CreateRecommendationRequest;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many requests against one creator row at once: every counter on it must end up at exactly
+// threads x calls, which only holds if each path increments in the database instead of
+// writing back a value it read earlier.
+@SpringBootTest(properties = {
+        "app.search.elasticsearch.enabled=false",
+        "app.analytics.spool.dir=${java.io.tmpdir}/foodlink-test-spool",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureEmbeddedDatabase(provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+class CreatorStatsConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 25;
+    private static final int TOTAL = THREADS * CALLS_PER_THREAD;
+
+    @Autowired
+    private CreatorService creatorService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private CreatorPageViewCounters pageViewCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long creatorId;
+
+    // A creator of its own per test, so the totals start at zero
+    @BeforeEach
+    void createCreator() {
+        String name = "stats" + System.nanoTime();
+        creatorId = jdbcTemplate.queryForObject("INSERT INTO creators (username, email, password_hash, display_name, slug) " +
+                "VALUES (?, ?, 'x', 'Stats', ?) RETURNING id", Long.class, name, name + "@example.com", name);
+    }
+
+    @Test
+    void concurrentStatUpdatesAreAllCounted() throws Exception {
+        runConcurrently(() -> creatorService.updateStats(creatorId, 1, 2));
+
+        assertThat(column("total_recommendations")).isEqualTo(TOTAL);
+        assertThat(column("total_page_views")).isEqualTo(2L * TOTAL);
+    }
+
+    @Test
+    void concurrentRecommendationsAreAllCounted() throws Exception {
+        runConcurrently(() -> {
+            CreateRecommendationRequest request = new CreateRecommendationRequest();
+            request.setDishName("Chole Bhature");
+            request.setRestaurantName("Sita Ram Diwan Chand");
+            recommendationService.createRecommendation(request, creatorId);
+        });
+
+        assertThat(column("total_recommendations")).isEqualTo(TOTAL);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM recommendations WHERE creator_id = ?",
+                Long.class, creatorId)).isEqualTo(TOTAL);
+    }
+
+    @Test
+    void concurrentPageViewsAreAllCounted() throws Exception {
+        runConcurrently(() -> pageViewCounters.onEvents(List.of(IngestedEvent.builder()
+                .eventType(AnalyticsEvent.EventType.PAGE_VIEW)
+                .creatorId(creatorId)
+                .createdAt(LocalDateTime.now())
+                .build())));
+        pageViewCounters.flush();
+
+        // The scheduled flush may still be writing what it drained before ours ran
+        long deadline = System.currentTimeMillis() + 5000;
+        while (column("total_page_views") != TOTAL && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(column("total_page_views")).isEqualTo(TOTAL);
+        assertThat(pageViewCounters.pending(creatorId)).isZero();
+    }
+
+    private void runConcurrently(Runnable call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        call.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long column(String name) {
+        return jdbcTemplate.queryForObject("SELECT " + name + " FROM creators WHERE id = ?", Long.class, creatorId);
+    }
+}
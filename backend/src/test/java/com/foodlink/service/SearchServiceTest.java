@@ -0,0 +1,74 @@
+package com.foodlink.service;
+
+import com.foodlink.cache.SearchResultCache;
+import com.foodlink.domain.repository.RecommendationRepository;
+import com.foodlink.dto.request.SearchRequest;
+import com.foodlink.mapper.RecommendationMapper;
+import com.foodlink.search.GeoIndex;
+import com.foodlink.search.PostgresSearchBackend;
+import com.foodlink.search.RecommendationSearchEngine;
+import com.foodlink.search.SearchHits;
+import com.foodlink.search.elasticsearch.ElasticsearchAvailability;
+import com.foodlink.search.elasticsearch.ElasticsearchSearchBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+// Elasticsearch calls can take seconds when the cluster struggles; no pooled connection may be
+// held while they run, so the transaction is only opened for the Postgres reads after them
+class SearchServiceTest {
+
+    private final ElasticsearchSearchBackend elasticsearchBackend = mock(ElasticsearchSearchBackend.class);
+    private final ElasticsearchAvailability elasticsearchAvailability = mock(ElasticsearchAvailability.class);
+    private final PostgresSearchBackend postgresBackend = mock(PostgresSearchBackend.class);
+    private final RecommendationRepository recommendationRepository = mock(RecommendationRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private SearchService searchService;
+
+    @BeforeEach
+    void service() {
+        doReturn(mock(TransactionStatus.class)).when(transactionManager).getTransaction(any());
+        doReturn(true).when(elasticsearchAvailability).isAvailable();
+        searchService = new SearchService(mock(RecommendationSearchEngine.class), elasticsearchBackend,
+                elasticsearchAvailability, postgresBackend, mock(GeoIndex.class), recommendationRepository,
+                mock(RecommendationMapper.class), mock(SearchResultCache.class), transactionManager);
+    }
+
+    @Test
+    void transactionOpensAfterElasticsearchAnswers() {
+        doReturn(new SearchHits(List.of(1L), 1)).when(elasticsearchBackend).search(any(), anyInt(), anyInt());
+
+        searchService.search(new SearchRequest());
+
+        InOrder order = inOrder(elasticsearchBackend, transactionManager, recommendationRepository);
+        order.verify(elasticsearchBackend).search(any(), anyInt(), anyInt());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(recommendationRepository).findAllById(any());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void postgresFallbackRunsInsideTheTransaction() {
+        doThrow(new IllegalStateException("cluster timeout")).when(elasticsearchBackend).search(any(), anyInt(), anyInt());
+        doReturn(new SearchHits(List.of(), 0)).when(postgresBackend).search(any(), anyInt(), anyInt());
+
+        searchService.search(new SearchRequest());
+
+        InOrder order = inOrder(elasticsearchBackend, transactionManager, postgresBackend);
+        order.verify(elasticsearchBackend).search(any(), anyInt(), anyInt());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(postgresBackend).search(any(), anyInt(), anyInt());
+        order.verify(transactionManager).commit(any());
+    }
+}
@@ -12,15 +12,13 @@ export default function CreatorPage() {
   const [searchQuery, setSearchQuery] = useState('');
   const [sessionId] = useState(() => crypto.randomUUID());
 
-  const { data: creator, isLoading: creatorLoading } = useQuery({
-    queryKey: ['creator', slug],
-    queryFn: () => creatorApi.getBySlug(slug),
-  });
-
-  const { data: recommendations, isLoading: recommendationsLoading } = useQuery({
-    queryKey: ['recommendations', slug],
-    queryFn: () => creatorApi.getRecommendations(slug),
+  const { data: creatorPage, isLoading: creatorLoading } = useQuery({
+    queryKey: ['creatorPage', slug],
+    queryFn: () => creatorApi.getPage(slug),
   });
+  const creator = creatorPage?.creator;
+  const recommendations = creatorPage?.recommendations;
+  const recommendationsLoading = creatorLoading;
 
   useEffect(() => {
     if (creator) {
@@ -58,6 +58,12 @@ export interface Recommendation {
   createdAt: string;
 }
 
+export interface CreatorPage {
+  creator: Creator;
+  recommendations: Recommendation[];
+  hasMore: boolean;
+}
+
 export interface ApiResponse<T> {
   success: boolean;
   message?: string;
@@ -72,6 +78,15 @@ export const creatorApi = {
     return data.data;
   },
 
+  // Profile and first page of recommendations in one request
+  getPage: async (slug: string, size = 20) => {
+    const { data } = await api.get<ApiResponse<CreatorPage>>(
+      `/public/creators/${slug}/page`,
+      { params: { size } }
+    );
+    return data.data;
+  },
+
   getRecommendations: async (slug: string, page = 0, size = 20) => {
     const { data } = await api.get<ApiResponse<Recommendation[]>>(
       `/public/creators/${slug}/recommendations`,
@@ -127,19 +142,83 @@ export const recommendationApi = {
   },
 };
 
+type AnalyticsEvent = {
+  eventType: string;
+  recommendationId?: number;
+  creatorSlug?: string;
+  searchQuery?: string;
+  sessionId?: string;
+};
+
+// Compact batch codes understood by POST /public/events/batch
+const EVENT_CODES: Record<string, string> = {
+  PAGE_VIEW: 'pv',
+  SEARCH: 'se',
+  RECOMMENDATION_VIEW: 'rv',
+  INSTAGRAM_CLICK: 'ic',
+  MAPS_CLICK: 'mc',
+  SAVE: 'sv',
+};
+
+const FLUSH_DELAY_MS = 2000;
+const MAX_QUEUED_EVENTS = 50;
+
+let queuedEvents: AnalyticsEvent[] = [];
+let flushTimer: ReturnType<typeof setTimeout> | null = null;
+
+// Events are queued and sent together; one beacon per creator/session pair
+const flushEvents = () => {
+  if (flushTimer) {
+    clearTimeout(flushTimer);
+    flushTimer = null;
+  }
+  if (queuedEvents.length === 0) return;
+
+  const groups = new Map<string, AnalyticsEvent[]>();
+  for (const event of queuedEvents) {
+    const key = `${event.creatorSlug ?? ''}|${event.sessionId ?? ''}`;
+    groups.set(key, [...(groups.get(key) ?? []), event]);
+  }
+  queuedEvents = [];
+
+  groups.forEach((events) => {
+    const payload = JSON.stringify({
+      s: events[0].creatorSlug ?? null,
+      i: events[0].sessionId ?? null,
+      e: events.map((event) => [
+        EVENT_CODES[event.eventType],
+        event.recommendationId ?? null,
+        event.searchQuery ?? null,
+      ]),
+    });
+    // sendBeacon survives page unloads and sends text/plain, so no CORS preflight
+    const sent =
+      typeof navigator !== 'undefined' &&
+      typeof navigator.sendBeacon === 'function' &&
+      navigator.sendBeacon(`${API_BASE_URL}/public/events/batch`, payload);
+    if (!sent) {
+      api.post('/public/events/batch', payload).catch((error) => {
+        // Don't throw error - analytics failures shouldn't break the app
+        console.warn('Analytics tracking failed:', error);
+      });
+    }
+  });
+};
+
+if (typeof window !== 'undefined') {
+  window.addEventListener('pagehide', flushEvents);
+  document.addEventListener('visibilitychange', () => {
+    if (document.visibilityState === 'hidden') flushEvents();
+  });
+}
+
 export const analyticsApi = {
-  trackEvent: async (event: {
-    eventType: string;
-    recommendationId?: number;
-    creatorSlug?: string;
-    searchQuery?: string;
-    sessionId?: string;
-  }) => {
-    try {
-      await api.post('/public/events', event);
-    } catch (error) {
-      // Don't throw error - analytics failures shouldn't break the app
-      console.warn('Analytics tracking failed:', error);
+  trackEvent: async (event: AnalyticsEvent) => {
+    queuedEvents.push(event);
+    if (queuedEvents.length >= MAX_QUEUED_EVENTS) {
+      flushEvents();
+    } else if (!flushTimer) {
+      flushTimer = setTimeout(flushEvents, FLUSH_DELAY_MS);
     }
   },
 };